@@ -0,0 +1,38 @@
+package com.smile.blue_blog.config;
+
+import com.smile.blue_blog.entity.Article;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 文章主键改为表生成器后，启动时把 id_generators 中的起始值推到现有最大ID之后，
+ * 避免与自增时期写入的数据冲突；可重复执行
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleIdGeneratorInitializer {
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS id_generators " +
+            "(gen_name VARCHAR(255) NOT NULL PRIMARY KEY, next_val BIGINT)";
+
+    // pooled 优化器取到 next_val = v 时分配 (v - 步长, v] 区间，所以至少要比最大ID大一个步长
+    private static final String SEED_SQL = "INSERT INTO id_generators (gen_name, next_val) " +
+            "SELECT 'articles', COALESCE(MAX(id), 0) + ? FROM articles " +
+            "ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 依赖 EntityManagerFactory，保证表结构更新完成后再执行
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void seed() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+        jdbcTemplate.update(SEED_SQL, Article.ID_ALLOCATION_SIZE);
+        Long next = jdbcTemplate.queryForObject("SELECT next_val FROM id_generators WHERE gen_name = 'articles'", Long.class);
+        System.out.println("文章ID生成器已就绪，下一段起始值: " + next);
+    }
+}
@@ -1,5 +1,7 @@
 package com.smile.blue_blog.config;
 
+import com.smile.blue_blog.entity.User;
+import com.smile.blue_blog.service.UserService;
 import com.smile.blue_blog.utils.JwtUtils;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +16,7 @@ import org.springframework.web.servlet.HandlerInterceptor;
 public class JwtInterceptor implements HandlerInterceptor {
 
     private final JwtUtils jwtUtils;
+    private final UserService userService;
 
     @Value("${jwt.enabled:true}")
     private boolean jwtEnabled;
@@ -63,6 +66,19 @@ public class JwtInterceptor implements HandlerInterceptor {
                 String username = jwtUtils.getUsernameFromToken(token);
                 Long userId = jwtUtils.getUserIdFromToken(token);
 
+                // 令牌有效期内用户可能已被禁用或删除，按用户缓存校验（状态变更提交后缓存立即失效）
+                User user = userService.findById(userId).orElse(null);
+                if (user == null) {
+                    System.out.println("JWT验证失败 - 用户不存在，ID: " + userId);
+                    sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "用户不存在");
+                    return false;
+                }
+                if (user.getStatus() != null && user.getStatus() == User.STATUS_DISABLED) {
+                    System.out.println("JWT验证失败 - 账号已被禁用，ID: " + userId);
+                    sendErrorResponse(response, HttpServletResponse.SC_FORBIDDEN, "账号已被禁用");
+                    return false;
+                }
+
                 // 重要：在验证成功后设置请求属性
                 request.setAttribute("username", username);
                 request.setAttribute("userId", userId);
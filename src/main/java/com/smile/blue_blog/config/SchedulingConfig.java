@@ -0,0 +1,12 @@
+package com.smile.blue_blog.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 启用定时任务（计数器刷盘等后台任务）
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
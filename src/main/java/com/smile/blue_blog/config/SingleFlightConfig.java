@@ -0,0 +1,23 @@
+package com.smile.blue_blog.config;
+
+import com.smile.blue_blog.service.cache.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * 请求合并（防止缓存失效瞬间的并发查询同时打到数据库）
+ */
+@Configuration
+public class SingleFlightConfig {
+
+    /**
+     * 文章列表与聚合查询，key 为"方法名 + 参数"，同一个 key 的结果类型始终相同
+     */
+    @Bean
+    public SingleFlight<List<Object>, Object> articleQueryFlight(MeterRegistry meterRegistry) {
+        return new SingleFlight<>(meterRegistry, "article_query");
+    }
+}
@@ -1,5 +1,6 @@
 package com.smile.blue_blog.config;
 
+import com.smile.blue_blog.config.workload.WorkloadInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -12,6 +13,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final JwtInterceptor jwtInterceptor;
+    private final WorkloadInterceptor workloadInterceptor;
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -27,6 +29,10 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // 舱壁在 JWT 校验之前，令牌校验本身也受所属负载的并发上限约束
+        registry.addInterceptor(workloadInterceptor)
+                .addPathPatterns("/api/**");
+
         System.out.println("=== 注册JWT拦截器 ===");
 
         registry.addInterceptor(jwtInterceptor)
@@ -0,0 +1,148 @@
+package com.smile.blue_blog.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 连接数信号量：许可数等于连接池大小，取连接前先拿许可，连接 close 时归还。
+ * 虚拟线程模式下请求线程不再受线程池限制，同时访问数据库的请求由这里按公平顺序排队，
+ * 等待超过 connection-timeout 直接失败，不再堆积在连接池内部的等待队列里
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final String poolName;
+    private final int maxConnections;
+    private final long timeoutMs;
+    private final Semaphore permits;
+
+    private Timer waitTimer;
+    private Counter rejected;
+
+    public ConnectionLimitingDataSource(DataSource target, String poolName, int maxConnections, long timeoutMs) {
+        super(target);
+        this.poolName = poolName;
+        this.maxConnections = maxConnections;
+        this.timeoutMs = timeoutMs;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return limited(() -> super.getConnection(username, password));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("blog.datasource.limiter.active", permits, p -> maxConnections - p.availablePermits())
+                .description("已发放的连接许可数")
+                .tag("pool", poolName)
+                .register(registry);
+        Gauge.builder("blog.datasource.limiter.waiting", permits, Semaphore::getQueueLength)
+                .description("等待连接许可的线程数")
+                .tag("pool", poolName)
+                .register(registry);
+        Gauge.builder("blog.datasource.limiter.max", () -> maxConnections)
+                .description("连接许可总数")
+                .tag("pool", poolName)
+                .register(registry);
+        waitTimer = Timer.builder("blog.datasource.limiter.wait")
+                .description("获取连接许可的等待时间")
+                .tag("pool", poolName)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        rejected = Counter.builder("blog.datasource.limiter.rejected")
+                .description("等待超时的取连接次数")
+                .tag("pool", poolName)
+                .register(registry);
+    }
+
+    // ========== 许可 ==========
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(poolName + " 等待连接时被中断", e);
+        }
+        if (waitTimer != null) {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new SQLTransientConnectionException(poolName + " 获取连接超时（" + timeoutMs + "ms），"
+                    + "活跃: " + (maxConnections - permits.availablePermits()) + "，等待: " + permits.getQueueLength());
+        }
+    }
+
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * 取连接失败时立即归还许可；成功时包一层代理，close 时归还（重复 close 只归还一次）
+     */
+    private Connection limited(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (method.getName().equals("isClosed") && released.get()) {
+                        return true;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,94 @@
+package com.smile.blue_blog.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 读写分离路由：只读事务（@Transactional(readOnly = true)）走从库，其余走主库。
+ * 需要包在 LazyConnectionDataSourceProxy 里使用——事务开始时只读标记还没有绑定到线程上，
+ * 要等到第一条 SQL 真正取连接时再决定去哪个库
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    /** 路由原因，作为指标标签 */
+    private enum Reason {
+        WRITE, REPLICA, LAG, STICKY, FENCE, FALLBACK
+    }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Map<Reason, Counter> routed = new EnumMap<>(Reason.class);
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWrites,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        for (Reason reason : Reason.values()) {
+            routed.put(reason, Counter.builder("blog.datasource.route")
+                    .description("按路由结果统计的取连接次数")
+                    .tag("target", reason == Reason.REPLICA ? "replica" : "primary")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Reason reason = decide();
+        routed.get(reason).increment();
+        return reason == Reason.REPLICA ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    private Reason decide() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Reason.WRITE;
+        }
+        if (!lagMonitor.isUsable()) {
+            return Reason.LAG;
+        }
+        if (readYourWrites.isCurrentUserSticky()) {
+            return Reason.STICKY;
+        }
+        if (!lagMonitor.hasReplicated(readYourWrites.lastContentWriteAt())) {
+            return Reason.FENCE;
+        }
+        return Reason.REPLICA;
+    }
+
+    /**
+     * 从库取连接失败时回退到主库，并在下次探测成功前停止路由到从库
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return target.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            lagMonitor.markUnreachable(e);
+            routed.get(Reason.FALLBACK).increment();
+            return primary.getConnection();
+        }
+    }
+}
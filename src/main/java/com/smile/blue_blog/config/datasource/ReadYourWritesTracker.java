@@ -0,0 +1,73 @@
+package com.smile.blue_blog.config.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import com.smile.blue_blog.event.UserChangedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * 读己之写：文章或用户写入提交后，
+ * 1) 发起写入的用户（及文章作者）在 sticky-ms 内的只读请求走主库；
+ * 2) 记录最近一次内容写入的时间，从库心跳追上这个时间之前，只读请求都走主库，
+ *    避免写入后失效的本地缓存从从库重新加载到旧数据
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> stickyUsers;
+    private volatile long lastContentWriteAt;
+
+    public ReadYourWritesTracker(long stickyMs) {
+        this.stickyUsers = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(stickyMs))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        lastContentWriteAt = System.currentTimeMillis();
+        markCurrentUser();
+        if (event.article() != null && event.article().getAuthor() != null) {
+            stickyUsers.put(event.article().getAuthor().getId(), Boolean.TRUE);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        lastContentWriteAt = System.currentTimeMillis();
+        markCurrentUser();
+        stickyUsers.put(event.userId(), Boolean.TRUE);
+    }
+
+    public long lastContentWriteAt() {
+        return lastContentWriteAt;
+    }
+
+    /**
+     * 当前请求的用户（JwtInterceptor 设置的 userId）是否刚写入过
+     */
+    public boolean isCurrentUserSticky() {
+        Long userId = currentUserId();
+        return userId != null && stickyUsers.getIfPresent(userId) != null;
+    }
+
+    private void markCurrentUser() {
+        Long userId = currentUserId();
+        if (userId != null) {
+            stickyUsers.put(userId, Boolean.TRUE);
+        }
+    }
+
+    private static Long currentUserId() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return attributes.getAttribute("userId", RequestAttributes.SCOPE_REQUEST) instanceof Long userId ? userId : null;
+    }
+}
@@ -0,0 +1,104 @@
+package com.smile.blue_blog.config.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 从库延迟探测：定时向主库 replica_heartbeat 表写入当前时间，再从从库读回。
+ * 从库读到的心跳值 H 表示"H 之前提交的写入从库都已经有了"，H 与当前时间的差即为延迟。
+ * 从库连不上、没有心跳或延迟超过 max-lag-ms 时，只读事务全部回到主库
+ */
+public class ReplicaLagMonitor {
+
+    private static final String CREATE_TABLE_SQL = "CREATE TABLE IF NOT EXISTS replica_heartbeat " +
+            "(id TINYINT NOT NULL PRIMARY KEY, beat_at BIGINT NOT NULL)";
+    private static final String BEAT_SQL = "INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?) " +
+            "ON DUPLICATE KEY UPDATE beat_at = VALUES(beat_at)";
+    private static final String READ_SQL = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMs;
+
+    /** 从库已同步到的主库时间点（毫秒），0 表示未知 */
+    private volatile long replicatedUpTo;
+    private volatile long lagMs = -1;
+    private volatile boolean reachable;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource,
+                             long maxLagMs, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("blog.datasource.replica.lag_ms", this, ReplicaLagMonitor::lagMs)
+                .description("从库延迟（毫秒），-1 表示不可用")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            primary.execute(CREATE_TABLE_SQL);
+        } catch (Exception e) {
+            System.err.println("创建从库心跳表失败: " + e.getMessage());
+        }
+        probe();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.datasource.replica.lag-check-ms:500}")
+    public void probe() {
+        long now = System.currentTimeMillis();
+        try {
+            primary.update(BEAT_SQL, now);
+        } catch (Exception e) {
+            System.err.println("写入从库心跳失败: " + e.getMessage());
+        }
+        try {
+            List<Long> beats = replica.queryForList(READ_SQL, Long.class);
+            long beat = beats.isEmpty() ? 0 : beats.get(0);
+            replicatedUpTo = beat;
+            lagMs = beat > 0 ? Math.max(0, now - beat) : -1;
+            reachable = true;
+        } catch (Exception e) {
+            markUnreachable(e);
+        }
+    }
+
+    /**
+     * 从库获取连接失败时由路由数据源调用，直到下次探测成功前不再路由到从库
+     */
+    public void markUnreachable(Exception e) {
+        if (reachable) {
+            System.err.println("从库不可用，只读请求回退到主库: " + e.getMessage());
+        }
+        reachable = false;
+        lagMs = -1;
+    }
+
+    /**
+     * max-lag-ms <= 0 时不检查延迟，只要求从库可连通（用于没有配置复制的两个本地实例）
+     */
+    public boolean isUsable() {
+        if (!reachable) {
+            return false;
+        }
+        return maxLagMs <= 0 || (lagMs >= 0 && lagMs <= maxLagMs);
+    }
+
+    /**
+     * 从库是否已经包含 timestamp 之前提交的写入
+     */
+    public boolean hasReplicated(long timestamp) {
+        return maxLagMs <= 0 || replicatedUpTo >= timestamp;
+    }
+
+    public long lagMs() {
+        return lagMs;
+    }
+}
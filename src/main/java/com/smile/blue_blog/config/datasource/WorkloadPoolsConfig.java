@@ -0,0 +1,72 @@
+package com.smile.blue_blog.config.datasource;
+
+import com.smile.blue_blog.config.workload.Workload;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 按负载拆分主库连接池（blog.datasource.workload.enabled=true 时启用）：
+ * public / authenticated / background 三个 Hikari 连接池，各自的 maximum-pool-size 和 connection-timeout
+ * 在 blog.datasource.workload.{类别}.* 下配置；连接池指标见 hikaricp.connections.*{pool=类别}。
+ * 同时启用读写分离时，这里的路由数据源作为主库，从库仍是一个共享连接池
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "blog.datasource.workload", name = "enabled", havingValue = "true")
+public class WorkloadPoolsConfig {
+
+    @Bean
+    @ConfigurationProperties("blog.datasource.workload.public")
+    public HikariDataSource publicPool(DataSourceProperties properties) {
+        return pool(properties, Workload.PUBLIC);
+    }
+
+    @Bean
+    @ConfigurationProperties("blog.datasource.workload.authenticated")
+    public HikariDataSource authenticatedPool(DataSourceProperties properties) {
+        return pool(properties, Workload.AUTHENTICATED);
+    }
+
+    @Bean
+    @ConfigurationProperties("blog.datasource.workload.background")
+    public HikariDataSource backgroundPool(DataSourceProperties properties) {
+        return pool(properties, Workload.BACKGROUND);
+    }
+
+    @Bean
+    public DataSource primaryDataSource(@Qualifier("publicPool") DataSource publicPool,
+                                        @Qualifier("authenticatedPool") DataSource authenticatedPool,
+                                        @Qualifier("backgroundPool") DataSource backgroundPool) {
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(Map.of(
+                Workload.PUBLIC, publicPool,
+                Workload.AUTHENTICATED, authenticatedPool,
+                Workload.BACKGROUND, backgroundPool));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    /**
+     * 未启用读写分离时直接使用按负载路由的主库；懒连接代理让事务在第一条 SQL 时才占用连接
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "blog.datasource.replica", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary) {
+        return new LazyConnectionDataSourceProxy(primary);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Workload workload) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(workload.key());
+        return dataSource;
+    }
+}
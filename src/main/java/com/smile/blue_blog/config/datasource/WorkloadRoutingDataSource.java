@@ -0,0 +1,26 @@
+package com.smile.blue_blog.config.datasource;
+
+import com.smile.blue_blog.config.workload.Workload;
+import com.smile.blue_blog.config.workload.WorkloadContext;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 按当前线程的负载类别选择连接池，每类负载的连接数和取连接的等待时间互不影响
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(Map<Workload, DataSource> pools) {
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.BACKGROUND));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+}
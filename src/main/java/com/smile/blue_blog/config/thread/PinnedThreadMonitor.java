@@ -0,0 +1,161 @@
+package com.smile.blue_blog.config.thread;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 虚拟线程钉住诊断：用 JFR 事件流订阅 jdk.VirtualThreadPinned（虚拟线程在 synchronized 或本地方法中阻塞，
+ * 占住载体线程超过阈值），按发生位置聚合。
+ * 指标 blog.virtual_threads.pinned 记录次数和耗时，明细见 /actuator/pinnedthreads；每个新位置首次出现时打印调用栈
+ */
+@Endpoint(id = "pinnedthreads")
+public class PinnedThreadMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.smile.blue_blog.";
+    /** 聚合的位置数上限，超出后新位置只计入指标 */
+    private static final int MAX_SITES = 200;
+    /** 明细中保留的栈顶帧数 */
+    private static final int MAX_FRAMES = 12;
+
+    private record Site(List<String> stack, LongAdder count, AtomicLong totalNanos, AtomicLong maxNanos) {
+    }
+
+    private final Timer pinned;
+    private final long thresholdMs;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(MeterRegistry meterRegistry, long thresholdMs) {
+        this.thresholdMs = thresholdMs;
+        this.pinned = Timer.builder("blog.virtual_threads.pinned")
+                .description("虚拟线程钉住载体线程的次数和时长")
+                .register(meterRegistry);
+    }
+
+    /**
+     * JFR 不可用（如被 -XX:-FlightRecorder 关闭）时只打印提示，不影响启动
+     */
+    @PostConstruct
+    public void start() {
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.startAsync();
+            System.out.println("虚拟线程钉住诊断已启动，阈值: " + thresholdMs + "ms");
+        } catch (Exception | Error e) {
+            stream = null;
+            System.err.println("虚拟线程钉住诊断启动失败: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        List<Map<String, Object>> top = new ArrayList<>();
+        sites.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Site> e) -> e.getValue().count().sum()).reversed())
+                .forEach(e -> {
+                    Site site = e.getValue();
+                    long count = site.count().sum();
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("site", e.getKey());
+                    item.put("count", count);
+                    item.put("avgMs", count == 0 ? 0 : site.totalNanos().get() / count / 1_000_000.0);
+                    item.put("maxMs", site.maxNanos().get() / 1_000_000.0);
+                    item.put("stack", site.stack());
+                    top.add(item);
+                });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", stream != null);
+        report.put("thresholdMs", thresholdMs);
+        report.put("total", pinned.count());
+        report.put("sites", top);
+        return report;
+    }
+
+    // ========== 事件处理 ==========
+
+    private void onPinned(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        pinned.record(Duration.ofNanos(nanos));
+
+        List<String> frames = frames(event.getStackTrace());
+        String key = siteOf(frames);
+        Site site = sites.get(key);
+        if (site == null) {
+            if (sites.size() >= MAX_SITES) {
+                return;
+            }
+            List<String> stack = List.copyOf(frames.subList(0, Math.min(MAX_FRAMES, frames.size())));
+            Site created = new Site(stack, new LongAdder(), new AtomicLong(), new AtomicLong());
+            site = sites.putIfAbsent(key, created);
+            if (site == null) {
+                site = created;
+                System.err.println("虚拟线程钉住载体线程 " + nanos / 1_000_000 + "ms，位置: " + key
+                        + "\n    at " + String.join("\n    at ", stack));
+            }
+        }
+        site.count().increment();
+        site.totalNanos().addAndGet(nanos);
+        site.maxNanos().accumulateAndGet(nanos, Math::max);
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        List<String> frames = new ArrayList<>();
+        if (stackTrace == null) {
+            return frames;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber());
+        }
+        return frames;
+    }
+
+    /**
+     * 以最靠近栈顶的应用代码帧作为位置；没有应用代码帧时取第一个非 JDK 帧（如驱动、连接池），再没有则取栈顶
+     */
+    private static String siteOf(List<String> stack) {
+        String library = null;
+        for (String frame : stack) {
+            if (frame.startsWith(APP_PACKAGE)) {
+                return frame;
+            }
+            if (library == null && !frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun.")) {
+                library = frame;
+            }
+        }
+        if (library != null) {
+            return library;
+        }
+        return stack.isEmpty() ? "unknown" : stack.get(0);
+    }
+}
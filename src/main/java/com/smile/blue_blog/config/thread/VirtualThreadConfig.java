@@ -0,0 +1,66 @@
+package com.smile.blue_blog.config.thread;
+
+import com.smile.blue_blog.config.datasource.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 虚拟线程模式（Java 21+ 且 spring.threads.virtual.enabled=true 时启用）：
+ * Tomcat 请求、@Scheduled 任务和异步响应都由 Spring Boot 切到虚拟线程上执行，
+ * 此时线程数不再限制并发，这里给每个 Hikari 连接池加一层同等大小的连接信号量，并开启钉住线程诊断
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * 包装所有 Hikari 连接池（默认数据源、按负载拆分的连接池、从库），许可数与超时取连接池自身的配置
+     */
+    @Bean
+    public static ConnectionLimiters connectionLimiters() {
+        return new ConnectionLimiters();
+    }
+
+    @Bean
+    public MeterBinder connectionLimiterMetrics(ConnectionLimiters connectionLimiters) {
+        return registry -> connectionLimiters.bindTo(registry);
+    }
+
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(MeterRegistry meterRegistry,
+                                                   @Value("${blog.virtual-threads.pinned-threshold-ms:20}") long thresholdMs) {
+        return new PinnedThreadMonitor(meterRegistry, thresholdMs);
+    }
+
+    public static class ConnectionLimiters implements BeanPostProcessor {
+
+        private final List<ConnectionLimitingDataSource> limiters = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource pool)) {
+                return bean;
+            }
+            String poolName = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+            ConnectionLimitingDataSource limiter = new ConnectionLimitingDataSource(pool, poolName,
+                    pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+            limiters.add(limiter);
+            System.out.println("连接池 " + poolName + " 启用连接信号量，许可数: " + pool.getMaximumPoolSize());
+            return limiter;
+        }
+
+        void bindTo(MeterRegistry registry) {
+            limiters.forEach(limiter -> limiter.bindTo(registry));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.smile.blue_blog.config.workload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 指定控制器（类或方法）所属的负载类别；未标注时带令牌的请求归入 AUTHENTICATED，其余归入 PUBLIC
+ */
+@Documented
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    Workload value();
+}
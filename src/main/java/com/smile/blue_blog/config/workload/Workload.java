@@ -0,0 +1,37 @@
+package com.smile.blue_blog.config.workload;
+
+/**
+ * 负载类别：每类有独立的请求并发上限（舱壁）和独立的数据库连接池，一类负载耗尽不影响其他类
+ */
+public enum Workload {
+
+    /** 匿名的公开读取（文章列表、详情、搜索等） */
+    PUBLIC(150, 1000),
+    /** 登录用户的请求（写文章、改资料）以及登录注册 */
+    AUTHENTICATED(40, 2000),
+    /** 后台任务：定时任务、导入导出等批量操作；没有请求上下文的线程默认归入此类 */
+    BACKGROUND(4, 0);
+
+    private final int defaultMaxConcurrent;
+    private final long defaultQueueTimeoutMs;
+
+    Workload(int defaultMaxConcurrent, long defaultQueueTimeoutMs) {
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultQueueTimeoutMs = defaultQueueTimeoutMs;
+    }
+
+    /**
+     * 配置项和指标标签中使用的名称
+     */
+    public String key() {
+        return name().toLowerCase();
+    }
+
+    public int defaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    public long defaultQueueTimeoutMs() {
+        return defaultQueueTimeoutMs;
+    }
+}
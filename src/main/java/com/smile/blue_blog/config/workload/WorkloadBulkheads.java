@@ -0,0 +1,83 @@
+package com.smile.blue_blog.config.workload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求舱壁：每类负载一个信号量，超过并发上限的请求最多排队 queue-timeout-ms，仍拿不到许可则拒绝。
+ * 配置项 blog.bulkhead.{public|authenticated|background}.max-concurrent / queue-timeout-ms；
+ * blog.bulkhead.enabled 未配置时跟随 blog.datasource.workload.enabled（默认关闭），只在按负载拆分连接池时一起启用
+ */
+@Component
+public class WorkloadBulkheads {
+
+    private record Compartment(Semaphore permits, int maxConcurrent, long queueTimeoutMs, Counter rejected) {
+    }
+
+    private final boolean enabled;
+    private final Map<Workload, Compartment> compartments = new EnumMap<>(Workload.class);
+
+    public WorkloadBulkheads(Environment environment, MeterRegistry meterRegistry) {
+        boolean workloadPools = environment.getProperty("blog.datasource.workload.enabled", Boolean.class, false);
+        this.enabled = environment.getProperty("blog.bulkhead.enabled", Boolean.class, workloadPools);
+        for (Workload workload : Workload.values()) {
+            String prefix = "blog.bulkhead." + workload.key() + ".";
+            int maxConcurrent = environment.getProperty(prefix + "max-concurrent", Integer.class,
+                    workload.defaultMaxConcurrent());
+            long queueTimeoutMs = environment.getProperty(prefix + "queue-timeout-ms", Long.class,
+                    workload.defaultQueueTimeoutMs());
+            Semaphore permits = new Semaphore(maxConcurrent, true);
+            Counter rejected = Counter.builder("blog.bulkhead.rejected")
+                    .description("排队超时被拒绝的请求数")
+                    .tag("workload", workload.key())
+                    .register(meterRegistry);
+            compartments.put(workload, new Compartment(permits, maxConcurrent, queueTimeoutMs, rejected));
+
+            Gauge.builder("blog.bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                    .description("正在处理的请求数")
+                    .tag("workload", workload.key())
+                    .register(meterRegistry);
+            Gauge.builder("blog.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                    .description("排队等待许可的请求数")
+                    .tag("workload", workload.key())
+                    .register(meterRegistry);
+            Gauge.builder("blog.bulkhead.max", () -> maxConcurrent)
+                    .description("并发上限")
+                    .tag("workload", workload.key())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 获取许可，排队超时返回 false；被中断时视为拒绝
+     */
+    public boolean tryEnter(Workload workload) {
+        if (!enabled) {
+            return true;
+        }
+        Compartment compartment = compartments.get(workload);
+        try {
+            if (compartment.permits().tryAcquire(compartment.queueTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        compartment.rejected().increment();
+        return false;
+    }
+
+    public void exit(Workload workload) {
+        if (enabled) {
+            compartments.get(workload).permits().release();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.smile.blue_blog.config.workload;
+
+import java.util.function.Supplier;
+
+/**
+ * 当前线程的负载类别，由 WorkloadInterceptor 按请求设置，服务层可以用 call 临时切换
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * 未设置时视为后台任务（定时任务线程、异步线程）
+     */
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.BACKGROUND;
+    }
+
+    static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 以指定负载类别执行，结束后恢复原来的类别
+     */
+    public static <T> T call(Workload workload, Supplier<T> action) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    public static void run(Workload workload, Runnable action) {
+        call(workload, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
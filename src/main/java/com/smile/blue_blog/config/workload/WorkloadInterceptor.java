@@ -0,0 +1,116 @@
+package com.smile.blue_blog.config.workload;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按控制器上的 @Bulkhead（或是否携带令牌）确定请求的负载类别，进入对应舱壁并设置线程上的类别。
+ * 注册在 JWT 拦截器之前，令牌校验中的用户查询也计入该类别
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkloadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String WORKLOAD_ATTRIBUTE = WorkloadInterceptor.class.getName() + ".workload";
+    private static final String PERMIT_ATTRIBUTE = WorkloadInterceptor.class.getName() + ".permit";
+
+    private final WorkloadBulkheads bulkheads;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // 异步请求完成后的再次分派：许可仍由首次分派持有
+            if (request.getAttribute(WORKLOAD_ATTRIBUTE) instanceof Workload workload) {
+                WorkloadContext.set(workload);
+            }
+            return true;
+        }
+        if ("OPTIONS".equalsIgnoreCase(request.getMethod())) {
+            return true;
+        }
+
+        Workload workload = classify(request, handler);
+        if (!bulkheads.tryEnter(workload)) {
+            // 拒绝次数见 blog.bulkhead.rejected 指标，过载时不逐条打印
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json;charset=UTF-8");
+            response.getWriter().write("{\"success\":false,\"message\":\"服务繁忙，请稍后重试\",\"code\":503}");
+            return false;
+        }
+        request.setAttribute(WORKLOAD_ATTRIBUTE, workload);
+        request.setAttribute(PERMIT_ATTRIBUTE, new AtomicBoolean(true));
+        WorkloadContext.set(workload);
+        return true;
+    }
+
+    /**
+     * 开始异步处理（如流式导出）：请求线程归还给容器，许可保留到异步处理结束
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        WorkloadContext.clear();
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    release(request);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    release(request);
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    release(request);
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        WorkloadContext.clear();
+        if (!request.isAsyncStarted()) {
+            release(request);
+        }
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AtomicBoolean held && held.compareAndSet(true, false)
+                && request.getAttribute(WORKLOAD_ATTRIBUTE) instanceof Workload workload) {
+            bulkheads.exit(workload);
+        }
+    }
+
+    private static Workload classify(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            Bulkhead bulkhead = method.getMethodAnnotation(Bulkhead.class);
+            if (bulkhead == null) {
+                bulkhead = method.getBeanType().getAnnotation(Bulkhead.class);
+            }
+            if (bulkhead != null) {
+                return bulkhead.value();
+            }
+        }
+        String authorization = request.getHeader("Authorization");
+        boolean hasToken = (authorization != null && authorization.startsWith("Bearer "))
+                || request.getParameter("token") != null;
+        return hasToken ? Workload.AUTHENTICATED : Workload.PUBLIC;
+    }
+}
@@ -0,0 +1,51 @@
+package com.smile.blue_blog.controller;
+
+import com.smile.blue_blog.config.workload.Bulkhead;
+import com.smile.blue_blog.config.workload.Workload;
+import com.smile.blue_blog.entity.User;
+import com.smile.blue_blog.service.UserService;
+import com.smile.blue_blog.service.exporter.ArticleExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/articles")
+@RequiredArgsConstructor
+public class AdminArticleController {
+
+    private final UserService userService;
+    private final ArticleExportService articleExportService;
+
+    /**
+     * 导出全站文章（仅管理员；NDJSON，每行一篇，gzip=true 时压缩）
+     */
+    @GetMapping("/export")
+    @Bulkhead(Workload.BACKGROUND)
+    public ResponseEntity<?> exportAllArticles(@RequestParam(defaultValue = "false") boolean gzip,
+                                               HttpServletRequest httpRequest) {
+        Long userId = (Long) httpRequest.getAttribute("userId");
+        boolean admin = userService.findById(userId).map(User::isAdmin).orElse(false);
+        if (!admin) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
+                    "success", false,
+                    "message", "没有权限导出全站文章"
+            ));
+        }
+
+        String filename = "articles-" + LocalDate.now() + (gzip ? ".ndjson.gz" : ".ndjson");
+        StreamingResponseBody body = out -> articleExportService.exportAll(out, gzip);
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
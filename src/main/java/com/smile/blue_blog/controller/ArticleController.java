@@ -1,9 +1,18 @@
 package com.smile.blue_blog.controller;
 
+import com.smile.blue_blog.config.workload.Bulkhead;
+import com.smile.blue_blog.config.workload.Workload;
+import com.smile.blue_blog.dto.ArticleSummaryView;
 import com.smile.blue_blog.dto.CreateArticleRequest;
+import com.smile.blue_blog.dto.CursorPage;
+import com.smile.blue_blog.dto.RenderedContent;
 import com.smile.blue_blog.dto.UpdateArticleRequest;
 import com.smile.blue_blog.entity.Article;
 import com.smile.blue_blog.service.ArticleService;
+import com.smile.blue_blog.service.cache.ArticleCollectionVersions;
+import com.smile.blue_blog.service.cache.PublicResponseCache;
+import com.smile.blue_blog.service.like.ArticleLikeService;
+import com.smile.blue_blog.service.search.SearchSort;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
@@ -14,7 +23,10 @@ import org.springframework.http.HttpStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 
@@ -24,56 +36,93 @@ import java.util.Map;
 public class ArticleController {
 
     private final ArticleService articleService;
+    private final ArticleLikeService articleLikeService;
+    private final ArticleCollectionVersions collectionVersions;
+    private final PublicResponseCache responseCache;
 
     // 标签相关接口
     @GetMapping("/tags")
-    public ResponseEntity<List<String>> getAllTags() {
-        List<String> tags = articleService.findAllTags();
-        return ResponseEntity.ok(tags);
+    @Bulkhead(Workload.PUBLIC)
+    public ResponseEntity<?> getAllTags(WebRequest webRequest, HttpServletRequest request) {
+        if (webRequest.checkNotModified(collectionVersions.etag(ArticleCollectionVersions.Collection.TAGS))) {
+            return null;
+        }
+        return responseCache.get(request, () -> {
+            List<String> tags = articleService.findAllTags();
+            return ResponseEntity.ok(tags);
+        });
     }
 
     @GetMapping("/tags/category/{category}")
-    public ResponseEntity<List<String>> getTagsByCategory(@PathVariable String category) {
-        List<String> tags = articleService.findTagsByCategory(category);
-        return ResponseEntity.ok(tags);
+    @Bulkhead(Workload.PUBLIC)
+    public ResponseEntity<?> getTagsByCategory(@PathVariable String category, WebRequest webRequest,
+                                               HttpServletRequest request) {
+        if (webRequest.checkNotModified(collectionVersions.etag(ArticleCollectionVersions.Collection.TAGS))) {
+            return null;
+        }
+        return responseCache.get(request, () -> {
+            List<String> tags = articleService.findTagsByCategory(category);
+            return ResponseEntity.ok(tags);
+        });
     }
 
     @GetMapping("/tags/author/{authorId}")
-    public ResponseEntity<List<String>> getTagsByAuthor(@PathVariable Long authorId) {
-        List<String> tags = articleService.findTagsByAuthor(authorId);
-        return ResponseEntity.ok(tags);
+    public ResponseEntity<?> getTagsByAuthor(@PathVariable Long authorId, WebRequest webRequest,
+                                             HttpServletRequest request) {
+        if (webRequest.checkNotModified(collectionVersions.etag(ArticleCollectionVersions.Collection.TAGS))) {
+            return null;
+        }
+        return responseCache.get(request, () -> {
+            List<String> tags = articleService.findTagsByAuthor(authorId);
+            return ResponseEntity.ok(tags);
+        });
     }
 
     // 分类相关接口
     @GetMapping("/categories")
-    public ResponseEntity<List<String>> getAllCategories() {
-        List<String> categories = articleService.findAllCategories();
-        return ResponseEntity.ok(categories);
+    @Bulkhead(Workload.PUBLIC)
+    public ResponseEntity<?> getAllCategories(WebRequest webRequest, HttpServletRequest request) {
+        if (webRequest.checkNotModified(collectionVersions.etag(ArticleCollectionVersions.Collection.CATEGORIES))) {
+            return null;
+        }
+        return responseCache.get(request, () -> {
+            List<String> categories = articleService.findAllCategories();
+            return ResponseEntity.ok(categories);
+        });
     }
 
     // 文章查询接口
     @GetMapping("/tag/{tag}")
-    public ResponseEntity<List<Article>> getArticlesByTag(@PathVariable String tag) {
-        List<Article> articles = articleService.findByTagAndStatus(tag, 1);
-        return ResponseEntity.ok(articles);
+    @Bulkhead(Workload.PUBLIC)
+    public ResponseEntity<?> getArticlesByTag(@PathVariable String tag, HttpServletRequest request) {
+        return responseCache.get(request, () -> {
+            List<ArticleSummaryView> articles = articleService.findByTagAndStatus(tag, 1);
+            return ResponseEntity.ok(articles);
+        });
     }
 
     @GetMapping("/category/{category}/tag/{tag}")
-    public ResponseEntity<List<Article>> getArticlesByCategoryAndTag(
+    @Bulkhead(Workload.PUBLIC)
+    public ResponseEntity<?> getArticlesByCategoryAndTag(
             @PathVariable String category,
-            @PathVariable String tag) {
-        List<Article> articles = articleService.findByCategoryAndTagAndStatus(category, tag, 1);
-        return ResponseEntity.ok(articles);
+            @PathVariable String tag,
+            HttpServletRequest request) {
+        return responseCache.get(request, () -> {
+            List<ArticleSummaryView> articles = articleService.findByCategoryAndTagAndStatus(category, tag, 1);
+            return ResponseEntity.ok(articles);
+        });
     }
 
     // 统计接口
     @GetMapping("/count/tag/{tag}")
+    @Bulkhead(Workload.PUBLIC)
     public ResponseEntity<Long> countByTag(@PathVariable String tag) {
         long count = articleService.countByTagAndStatus(tag, 1);
         return ResponseEntity.ok(count);
     }
 
     @GetMapping("/count/category/{category}/tag/{tag}")
+    @Bulkhead(Workload.PUBLIC)
     public ResponseEntity<Long> countByCategoryAndTag(
             @PathVariable String category,
             @PathVariable String tag) {
@@ -151,12 +200,37 @@ public class ArticleController {
     }
 
     /**
-     * 获取文章详情
+     * 获取文章详情（支持 If-None-Match / If-Modified-Since，未修改时返回 304；format=html 时返回渲染后的正文和目录）
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getArticleDetail(@PathVariable Long id) {
+    @Bulkhead(Workload.PUBLIC)
+    public ResponseEntity<?> getArticleDetail(@PathVariable Long id,
+                                              @RequestParam(required = false) String format,
+                                              WebRequest webRequest) {
         try {
+            // 先用缓存中的更新时间做条件判断，命中 304 时不拷贝实体、不序列化正文
+            LocalDateTime updateTime = articleService.getPublishedArticleDetail(id).getUpdateTime();
+            if (updateTime != null) {
+                long lastModified = updateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                String etag = "\"" + id + "-" + lastModified + ("html".equals(format) ? "-html" : "") + "\"";
+                if (webRequest.checkNotModified(etag, lastModified)) {
+                    articleService.recordView(id);
+                    return null;
+                }
+            }
+
             Article article = articleService.getArticleDetail(id);
+            if ("html".equals(format)) {
+                // 返回服务端渲染的 HTML，客户端无需再解析 Markdown
+                RenderedContent rendered = articleService.getRenderedContent(article);
+                article.setContent(rendered.html());
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", article,
+                        "toc", rendered.toc(),
+                        "format", "html"
+                ));
+            }
             return ResponseEntity.ok(Map.of(
                     "success", true,
                     "data", article
@@ -170,18 +244,29 @@ public class ArticleController {
     }
 
     /**
-     * 获取我的文章列表
+     * 获取我的文章列表（传 cursor 参数时使用游标分页）
      */
     @GetMapping("/my-articles")
     public ResponseEntity<?> getMyArticles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) Integer status,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest httpRequest) {
 
         try {
             Long authorId = (Long) httpRequest.getAttribute("userId");
-            Page<Article> articles = articleService.getUserArticles(authorId, status, page, size);
+            if (cursor != null) {
+                // 游标分页：seek 查询，不统计总数
+                CursorPage<ArticleSummaryView> articles = articleService.getUserArticlesAfter(authorId, status, cursor, size);
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", articles.content(),
+                        "pagination", articles.pagination()
+                ));
+            }
+
+            Page<ArticleSummaryView> articles = articleService.getUserArticles(authorId, status, page, size);
 
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -202,116 +287,184 @@ public class ArticleController {
     }
 
     /**
-     * 搜索文章
+     * 搜索文章（sort=relevance 按相关度排序，默认按创建时间）
      */
     @GetMapping("/search")
+    @Bulkhead(Workload.PUBLIC)
     public ResponseEntity<?> searchArticles(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "1") Integer status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createTime") String sort,
+            HttpServletRequest request) {
 
-        try {
-            Page<Article> articles = articleService.searchArticles(keyword, status, page, size);
+        return responseCache.get(request, () -> {
+            try {
+                Page<ArticleSummaryView> articles = articleService.searchArticles(keyword, status, SearchSort.from(sort), page, size);
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "data", articles.getContent(),
-                    "pagination", Map.of(
-                            "page", articles.getNumber(),
-                            "size", articles.getSize(),
-                            "total", articles.getTotalElements(),
-                            "totalPages", articles.getTotalPages()
-                    )
-            ));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of(
-                    "success", false,
-                    "message", "搜索失败: " + e.getMessage()
-            ));
-        }
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", articles.getContent(),
+                        "pagination", Map.of(
+                                "page", articles.getNumber(),
+                                "size", articles.getSize(),
+                                "total", articles.getTotalElements(),
+                                "totalPages", articles.getTotalPages()
+                        )
+                ));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "message", "搜索失败: " + e.getMessage()
+                ));
+            }
+        });
     }
 
     /**
      * 获取推荐文章
      */
     @GetMapping("/recommended")
-    public ResponseEntity<?> getRecommendedArticles() {
-        try {
-            List<Article> articles = articleService.getRecommendedArticles();
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "data", articles
-            ));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of(
-                    "success", false,
-                    "message", "获取推荐文章失败: " + e.getMessage()
-            ));
-        }
+    @Bulkhead(Workload.PUBLIC)
+    public ResponseEntity<?> getRecommendedArticles(HttpServletRequest request) {
+        return responseCache.get(request, () -> {
+            try {
+                List<ArticleSummaryView> articles = articleService.getRecommendedArticles();
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", articles
+                ));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "message", "获取推荐文章失败: " + e.getMessage()
+                ));
+            }
+        });
     }
 
     /**
      * 获取置顶文章
      */
     @GetMapping("/top")
-    public ResponseEntity<?> getTopArticles() {
+    @Bulkhead(Workload.PUBLIC)
+    public ResponseEntity<?> getTopArticles(HttpServletRequest request) {
+        return responseCache.get(request, () -> {
+            try {
+                List<ArticleSummaryView> articles = articleService.getTopArticles();
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", articles
+                ));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "message", "获取置顶文章失败: " + e.getMessage()
+                ));
+            }
+        });
+    }
+
+    /**
+     * 获取热门文章（传 cursor 参数时使用游标分页；浏览量持续变化，翻页期间可能有重复或遗漏）
+     */
+    @GetMapping("/popular")
+    @Bulkhead(Workload.PUBLIC)
+    public ResponseEntity<?> getPopularArticles(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            HttpServletRequest request) {
+
+        return responseCache.get(request, () -> {
+            try {
+                if (cursor != null) {
+                    // 游标分页：seek 查询，不统计总数
+                    CursorPage<ArticleSummaryView> articles = articleService.getPublishedPopularArticlesAfter(cursor, size);
+                    return ResponseEntity.ok(Map.of(
+                            "success", true,
+                            "data", articles.content(),
+                            "pagination", articles.pagination()
+                    ));
+                }
+
+                Page<ArticleSummaryView> articles = articleService.getPopularArticles(page, size);
+
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", articles.getContent(),
+                        "pagination", Map.of(
+                                "page", articles.getNumber(),
+                                "size", articles.getSize(),
+                                "total", articles.getTotalElements(),
+                                "totalPages", articles.getTotalPages()
+                        )
+                ));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "message", "获取热门文章失败: " + e.getMessage()
+                ));
+            }
+        });
+    }
+
+    /**
+     * 点赞文章（重复点赞不会重复计数）
+     */
+    @PostMapping("/{id}/like")
+    public ResponseEntity<?> likeArticle(@PathVariable Long id, HttpServletRequest httpRequest) {
         try {
-            List<Article> articles = articleService.getTopArticles();
+            Long userId = (Long) httpRequest.getAttribute("userId");
+            ArticleLikeService.LikeState state = articleLikeService.like(id, userId);
             return ResponseEntity.ok(Map.of(
                     "success", true,
-                    "data", articles
+                    "message", "点赞成功",
+                    "data", state
             ));
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
-                    "message", "获取置顶文章失败: " + e.getMessage()
+                    "message", e.getMessage()
             ));
         }
     }
 
     /**
-     * 获取热门文章
+     * 取消点赞
      */
-    @GetMapping("/popular")
-    public ResponseEntity<?> getPopularArticles(
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<?> unlikeArticle(@PathVariable Long id, HttpServletRequest httpRequest) {
         try {
-            Page<Article> articles = articleService.getPopularArticles(page, size);
-
+            Long userId = (Long) httpRequest.getAttribute("userId");
+            ArticleLikeService.LikeState state = articleLikeService.unlike(id, userId);
             return ResponseEntity.ok(Map.of(
                     "success", true,
-                    "data", articles.getContent(),
-                    "pagination", Map.of(
-                            "page", articles.getNumber(),
-                            "size", articles.getSize(),
-                            "total", articles.getTotalElements(),
-                            "totalPages", articles.getTotalPages()
-                    )
+                    "message", "已取消点赞",
+                    "data", state
             ));
-        } catch (Exception e) {
+        } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "success", false,
-                    "message", "获取热门文章失败: " + e.getMessage()
+                    "message", e.getMessage()
             ));
         }
     }
 
     /**
-     * 点赞文章
+     * 获取当前用户的点赞状态和点赞数
      */
-    @PostMapping("/{id}/like")
-    public ResponseEntity<?> likeArticle(@PathVariable Long id) {
+    @GetMapping("/{id}/like")
+    public ResponseEntity<?> getLikeState(@PathVariable Long id, HttpServletRequest httpRequest) {
+        Long userId = (Long) httpRequest.getAttribute("userId");
         try {
-            articleService.likeArticle(id);
             return ResponseEntity.ok(Map.of(
                     "success", true,
-                    "message", "点赞成功"
+                    "data", articleLikeService.getLikeState(id, userId)
             ));
         } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(Map.of(
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of(
                     "success", false,
                     "message", e.getMessage()
             ));
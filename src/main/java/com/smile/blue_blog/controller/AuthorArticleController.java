@@ -1,16 +1,29 @@
 package com.smile.blue_blog.controller;
 
+import com.smile.blue_blog.config.workload.Bulkhead;
+import com.smile.blue_blog.config.workload.Workload;
+import com.smile.blue_blog.dto.ArticleImportResult;
+import com.smile.blue_blog.dto.ArticleSummaryView;
 import com.smile.blue_blog.dto.CreateArticleRequest;
+import com.smile.blue_blog.dto.RenderedContent;
 import com.smile.blue_blog.dto.UpdateArticleRequest;
 import com.smile.blue_blog.entity.Article;
 import com.smile.blue_blog.service.ArticleService;
+import com.smile.blue_blog.service.exporter.ArticleExportService;
+import com.smile.blue_blog.service.importer.ArticleImportService;
+import com.smile.blue_blog.service.like.ArticleLikeService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
 
 import java.util.List;
 import java.util.Map;
@@ -21,6 +34,9 @@ import java.util.Map;
 public class AuthorArticleController {
 
     private final ArticleService articleService;
+    private final ArticleLikeService articleLikeService;
+    private final ArticleImportService articleImportService;
+    private final ArticleExportService articleExportService;
 
     /**
      * 发表文章
@@ -45,6 +61,29 @@ public class AuthorArticleController {
         }
     }
 
+    /**
+     * 批量导入文章（请求体为 JSON 数组或 NDJSON，单条失败不影响其他条目）
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Bulkhead(Workload.BACKGROUND)
+    public ResponseEntity<?> importArticles(HttpServletRequest httpRequest) {
+        try {
+            Long authorId = (Long) httpRequest.getAttribute("userId");
+            ArticleImportResult result = articleImportService.importArticles(httpRequest.getInputStream(), authorId);
+
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", "导入完成，成功 " + result.imported() + " 篇，失败 " + (result.total() - result.imported()) + " 篇",
+                    "data", result
+            ));
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", "导入失败: " + e.getMessage()
+            ));
+        }
+    }
+
     /**
      * 更新文章
      */
@@ -91,6 +130,22 @@ public class AuthorArticleController {
         }
     }
 
+    /**
+     * 导出我的全部文章（NDJSON，每行一篇，可直接用于批量导入；gzip=true 时压缩）
+     */
+    @GetMapping("/export")
+    @Bulkhead(Workload.BACKGROUND)
+    public ResponseEntity<StreamingResponseBody> exportArticles(@RequestParam(defaultValue = "false") boolean gzip,
+                                                                HttpServletRequest httpRequest) {
+        Long authorId = (Long) httpRequest.getAttribute("userId");
+        String filename = "articles-" + authorId + (gzip ? ".ndjson.gz" : ".ndjson");
+
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(out -> articleExportService.exportByAuthor(authorId, out, gzip));
+    }
+
     /**
      * 获取我的文章列表（包含所有状态的文章）
      */
@@ -103,7 +158,7 @@ public class AuthorArticleController {
 
         try {
             Long authorId = (Long) httpRequest.getAttribute("userId");
-            Page<Article> articles = articleService.getUserArticles(authorId, status, page, size);
+            Page<ArticleSummaryView> articles = articleService.getUserArticles(authorId, status, page, size);
 
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -124,15 +179,38 @@ public class AuthorArticleController {
     }
 
     /**
-     * 点赞文章
+     * 点赞文章（重复点赞不会重复计数）
      */
     @PostMapping("/{id}/like")
-    public ResponseEntity<?> likeArticle(@PathVariable Long id) {
+    public ResponseEntity<?> likeArticle(@PathVariable Long id, HttpServletRequest httpRequest) {
+        try {
+            Long userId = (Long) httpRequest.getAttribute("userId");
+            ArticleLikeService.LikeState state = articleLikeService.like(id, userId);
+            return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", "点赞成功",
+                    "data", state
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * 取消点赞
+     */
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<?> unlikeArticle(@PathVariable Long id, HttpServletRequest httpRequest) {
         try {
-            articleService.likeArticle(id);
+            Long userId = (Long) httpRequest.getAttribute("userId");
+            ArticleLikeService.LikeState state = articleLikeService.unlike(id, userId);
             return ResponseEntity.ok(Map.of(
                     "success", true,
-                    "message", "点赞成功"
+                    "message", "已取消点赞",
+                    "data", state
             ));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of(
@@ -152,14 +230,26 @@ public class AuthorArticleController {
     }
 
     /**
-     * 获取文章详情（作者可以查看自己的所有文章，包括草稿）
+     * 获取文章详情（作者可以查看自己的所有文章，包括草稿；format=html 时返回渲染后的正文和目录）
      */
     @GetMapping("/{id}")
     public ResponseEntity<?> getAuthorArticleDetail(@PathVariable Long id,
+                                                    @RequestParam(required = false) String format,
                                                     HttpServletRequest httpRequest) {
         try {
             Long authorId = (Long) httpRequest.getAttribute("userId");
             Article article = articleService.getAuthorArticleDetail(id, authorId);
+            if ("html".equals(format)) {
+                // 返回服务端渲染的 HTML，客户端无需再解析 Markdown
+                RenderedContent rendered = articleService.getRenderedContent(article);
+                article.setContent(rendered.html());
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", article,
+                        "toc", rendered.toc(),
+                        "format", "html"
+                ));
+            }
             return ResponseEntity.ok(Map.of(
                     "success", true,
                     "data", article
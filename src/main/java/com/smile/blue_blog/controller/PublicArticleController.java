@@ -1,68 +1,105 @@
 package com.smile.blue_blog.controller;
 
-import com.smile.blue_blog.entity.Article;
+import com.smile.blue_blog.config.workload.Bulkhead;
+import com.smile.blue_blog.config.workload.Workload;
+import com.smile.blue_blog.dto.ArticleFacetPage;
+import com.smile.blue_blog.dto.ArticleSummaryView;
+import com.smile.blue_blog.dto.CursorPage;
+import com.smile.blue_blog.dto.TagCount;
 import com.smile.blue_blog.service.ArticleService;
+import com.smile.blue_blog.service.cache.ArticleCollectionVersions;
+import com.smile.blue_blog.service.cache.PublicResponseCache;
+import com.smile.blue_blog.service.index.ArticleFacetIndex;
+import com.smile.blue_blog.service.search.SearchSort;
+import com.smile.blue_blog.service.trending.ArticleTrendingService;
+import com.smile.blue_blog.service.trending.TrendingWindow;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/public/articles")
+@Bulkhead(Workload.PUBLIC)
 @RequiredArgsConstructor
 public class PublicArticleController {
 
     private final ArticleService articleService;
+    private final ArticleTrendingService articleTrendingService;
+    private final ArticleCollectionVersions collectionVersions;
+    private final PublicResponseCache responseCache;
 
     // ========== 新增：文章列表查询接口 ==========
 
     /**
-     * 获取已发布文章列表（分页）
+     * 获取已发布文章列表（分页；传 cursor 参数时使用游标分页，首页传空值）
      */
     @GetMapping
     public ResponseEntity<?> getPublishedArticles(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) String tag) {
-
-        try {
-            Page<Article> articles;
-
-            if (category != null && tag != null) {
-                // 根据分类和标签查询
-                articles = articleService.findByCategoryAndTagAndStatus(category, tag, 1, page, size);
-            } else if (category != null) {
-                // 根据分类查询
-                articles = articleService.findByCategoryAndStatus(category, 1, page, size);
-            } else if (tag != null) {
-                // 根据标签查询
-                articles = articleService.findByTagAndStatus(tag, 1, page, size);
-            } else {
-                // 查询所有已发布文章
-                articles = articleService.findByStatus(1, page, size);
-            }
+            @RequestParam(required = false) String tag,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest,
+            HttpServletRequest request) {
 
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "data", articles.getContent(),
-                    "pagination", Map.of(
-                            "page", articles.getNumber(),
-                            "size", articles.getSize(),
-                            "total", articles.getTotalElements(),
-                            "totalPages", articles.getTotalPages()
-                    )
-            ));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of(
-                    "success", false,
-                    "message", "获取文章列表失败: " + e.getMessage()
-            ));
+        if (webRequest.checkNotModified(collectionVersions.etag(ArticleCollectionVersions.Collection.ARTICLES))) {
+            return null;
         }
+        return responseCache.get(request, () -> {
+            try {
+                if (cursor != null) {
+                    // 游标分页：seek 查询，不统计总数
+                    CursorPage<ArticleSummaryView> articles = articleService.findByStatusAfter(category, tag, 1, cursor, size);
+                    return ResponseEntity.ok(Map.of(
+                            "success", true,
+                            "data", articles.content(),
+                            "pagination", articles.pagination()
+                    ));
+                }
+
+                Page<ArticleSummaryView> articles;
+
+                if (category != null && tag != null) {
+                    // 根据分类和标签查询
+                    articles = articleService.findByCategoryAndTagAndStatus(category, tag, 1, page, size);
+                } else if (category != null) {
+                    // 根据分类查询
+                    articles = articleService.findByCategoryAndStatus(category, 1, page, size);
+                } else if (tag != null) {
+                    // 根据标签查询
+                    articles = articleService.findByTagAndStatus(tag, 1, page, size);
+                } else {
+                    // 查询所有已发布文章
+                    articles = articleService.findByStatus(1, page, size);
+                }
+
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", articles.getContent(),
+                        "pagination", Map.of(
+                                "page", articles.getNumber(),
+                                "size", articles.getSize(),
+                                "total", articles.getTotalElements(),
+                                "totalPages", articles.getTotalPages()
+                        )
+                ));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "message", "获取文章列表失败: " + e.getMessage()
+                ));
+            }
+        });
     }
 
     /**
@@ -72,38 +109,170 @@ public class PublicArticleController {
     public ResponseEntity<?> getArticlesByCategory(
             @PathVariable String category,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-
-        try {
-            Page<Article> articles = articleService.findByCategoryAndStatus(category, 1, page, size);
-
-            return ResponseEntity.ok(Map.of(
-                    "success", true,
-                    "data", articles.getContent(),
-                    "pagination", Map.of(
-                            "page", articles.getNumber(),
-                            "size", articles.getSize(),
-                            "total", articles.getTotalElements(),
-                            "totalPages", articles.getTotalPages()
-                    )
-            ));
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of(
-                    "success", false,
-                    "message", "获取分类文章失败: " + e.getMessage()
-            ));
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest,
+            HttpServletRequest request) {
+
+        if (webRequest.checkNotModified(collectionVersions.etag(ArticleCollectionVersions.Collection.ARTICLES))) {
+            return null;
+        }
+        return responseCache.get(request, () -> {
+            try {
+                if (cursor != null) {
+                    // 游标分页：seek 查询，不统计总数
+                    CursorPage<ArticleSummaryView> articles = articleService.findByStatusAfter(category, null, 1, cursor, size);
+                    return ResponseEntity.ok(Map.of(
+                            "success", true,
+                            "data", articles.content(),
+                            "pagination", articles.pagination()
+                    ));
+                }
+
+                Page<ArticleSummaryView> articles = articleService.findByCategoryAndStatus(category, 1, page, size);
+
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", articles.getContent(),
+                        "pagination", Map.of(
+                                "page", articles.getNumber(),
+                                "size", articles.getSize(),
+                                "total", articles.getTotalElements(),
+                                "totalPages", articles.getTotalPages()
+                        )
+                ));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "message", "获取分类文章失败: " + e.getMessage()
+                ));
+            }
+        });
+    }
+
+    /**
+     * 搜索已发布文章（sort=relevance 按相关度排序，默认按创建时间）
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchArticles(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createTime") String sort,
+            HttpServletRequest request) {
+
+        return responseCache.get(request, () -> {
+            try {
+                Page<ArticleSummaryView> articles = articleService.searchPublishedArticles(keyword, SearchSort.from(sort), page, size);
+
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", articles.getContent(),
+                        "pagination", Map.of(
+                                "page", articles.getNumber(),
+                                "size", articles.getSize(),
+                                "total", articles.getTotalElements(),
+                                "totalPages", articles.getTotalPages()
+                        )
+                ));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "message", "搜索失败: " + e.getMessage()
+                ));
+            }
+        });
+    }
+
+    /**
+     * 分面浏览：分类/标签/作者/日期任意组合筛选，一次返回当前页和各维度计数
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<?> browseArticles(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) List<String> tag,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "20") int facetLimit,
+            WebRequest webRequest,
+            HttpServletRequest request) {
+
+        if (webRequest.checkNotModified(collectionVersions.etag(ArticleCollectionVersions.Collection.ARTICLES))) {
+            return null;
         }
+        return responseCache.get(request, () -> {
+            try {
+                ArticleFacetIndex.FacetQuery query = new ArticleFacetIndex.FacetQuery(category, tag, authorId, from, to);
+                ArticleFacetPage result = articleService.browsePublishedArticles(query, page, size, facetLimit);
+                Page<ArticleSummaryView> articles = result.articles();
+
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", articles.getContent(),
+                        "facets", result.facets(),
+                        "pagination", Map.of(
+                                "page", articles.getNumber(),
+                                "size", articles.getSize(),
+                                "total", articles.getTotalElements(),
+                                "totalPages", articles.getTotalPages()
+                        )
+                ));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "message", "分面查询失败: " + e.getMessage()
+                ));
+            }
+        });
+    }
+
+    /**
+     * 热榜文章（window=24h 或 7d，按时间衰减的浏览热度排序）
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingArticles(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(defaultValue = "10") int limit,
+            HttpServletRequest request) {
+
+        return responseCache.get(request, () -> {
+            try {
+                TrendingWindow trendingWindow = TrendingWindow.from(window);
+                List<ArticleSummaryView> articles = articleTrendingService.getTrending(trendingWindow, limit);
+
+                return ResponseEntity.ok(Map.of(
+                        "success", true,
+                        "data", articles,
+                        "window", trendingWindow.value()
+                ));
+            } catch (Exception e) {
+                return ResponseEntity.badRequest().body(Map.of(
+                        "success", false,
+                        "message", "获取热榜失败: " + e.getMessage()
+                ));
+            }
+        });
     }
 
     // ========== 您原有的其他接口保持不变 ==========
 
     /**
-     * 获取所有标签（只包含已发布文章的标签）
+     * 获取标签云（只统计已发布文章，按文章数倒序，可按分类筛选）
      */
     @GetMapping("/tags")
-    public ResponseEntity<List<String>> getAllTags() {
-        List<String> tags = articleService.findPublishedTags();
-        return ResponseEntity.ok(tags);
+    public ResponseEntity<?> getAllTags(@RequestParam(required = false) String category,
+                                        WebRequest webRequest,
+                                        HttpServletRequest request) {
+        if (webRequest.checkNotModified(collectionVersions.etag(ArticleCollectionVersions.Collection.TAGS))) {
+            return null;
+        }
+        return responseCache.get(request, () -> {
+            List<TagCount> tags = articleService.findPublishedTagCounts(category);
+            return ResponseEntity.ok(tags);
+        });
     }
 
     // ... 其他原有接口保持不变
@@ -1,5 +1,7 @@
 package com.smile.blue_blog.controller;
 
+import com.smile.blue_blog.config.workload.Bulkhead;
+import com.smile.blue_blog.config.workload.Workload;
 import com.smile.blue_blog.dto.UserDTO;
 import com.smile.blue_blog.entity.User;
 import com.smile.blue_blog.service.UserService;
@@ -85,6 +87,7 @@ public class UserController {
 
     // 用户注册
     @PostMapping("/register")
+    @Bulkhead(Workload.AUTHENTICATED)
     public ResponseEntity<?> register(@RequestBody User user) {
         try {
             // 手动验证参数
@@ -113,6 +116,7 @@ public class UserController {
 
     // 用户登录
     @PostMapping("/login")
+    @Bulkhead(Workload.AUTHENTICATED)
     public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest) {
         try {
             String username = loginRequest.get("username");
@@ -343,6 +347,7 @@ public class UserController {
 
     // 检查用户名是否存在
     @GetMapping("/check-username/{username}")
+    @Bulkhead(Workload.PUBLIC)
     public ResponseEntity<Map<String, Boolean>> checkUsernameExists(@PathVariable String username) {
         boolean exists = userService.existsByUsername(username);
         Map<String, Boolean> response = new HashMap<>();
@@ -352,6 +357,7 @@ public class UserController {
 
     // 检测邮箱是否存在
     @GetMapping("/check-email/{email}")
+    @Bulkhead(Workload.PUBLIC)
     public ResponseEntity<Map<String, Boolean>> checkEmailExists(@PathVariable String email) {
         boolean exists = userService.existsByEmail(email);
         Map<String, Boolean> response = new HashMap<>();
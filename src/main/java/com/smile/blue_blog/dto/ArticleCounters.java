@@ -0,0 +1,10 @@
+package com.smile.blue_blog.dto;
+
+/**
+ * 文章计数（articles 表中的已汇总值 + 尚未汇总的分片增量）
+ */
+public record ArticleCounters(Long articleId,
+                              Long viewCount,
+                              Long likeCount,
+                              Long commentCount) {
+}
@@ -0,0 +1,66 @@
+package com.smile.blue_blog.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 文章列表的不透明分页游标，记录上一页最后一条的排序键
+ *
+ * 按时间排序时排序键为 (createTime, id)，按浏览量排序时为 (viewCount, id)。
+ * 浏览量不是固定的排序键，按浏览量翻页只保证尽力而为；浏览量为空的文章排在最后，游标中记为 -1
+ */
+public record ArticleCursor(LocalDateTime createTime, Integer viewCount, Long id) {
+
+    private static final String KIND_TIME = "t";
+    private static final String KIND_VIEWS = "v";
+    private static final String SEPARATOR = "|";
+
+    public static ArticleCursor byCreateTime(ArticleSummaryView last) {
+        return new ArticleCursor(last.createTime(), null, last.id());
+    }
+
+    public static final int NULL_VIEW_COUNT = -1;
+
+    public static ArticleCursor byViewCount(ArticleSummaryView last) {
+        return new ArticleCursor(null, last.viewCount() != null ? last.viewCount() : NULL_VIEW_COUNT, last.id());
+    }
+
+    /**
+     * 解析游标，空字符串表示从第一页开始（返回 null）
+     */
+    public static ArticleCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(raw);
+            }
+            Long id = Long.valueOf(parts[2]);
+            if (KIND_TIME.equals(parts[0])) {
+                return new ArticleCursor(LocalDateTime.parse(parts[1]), null, id);
+            }
+            if (KIND_VIEWS.equals(parts[0])) {
+                return new ArticleCursor(null, Integer.valueOf(parts[1]), id);
+            }
+            throw new IllegalArgumentException(raw);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("无效的分页游标");
+        }
+    }
+
+    public String encode() {
+        String raw = createTime != null
+                ? KIND_TIME + SEPARATOR + createTime + SEPARATOR + id
+                : KIND_VIEWS + SEPARATOR + viewCount + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isByCreateTime() {
+        return createTime != null;
+    }
+}
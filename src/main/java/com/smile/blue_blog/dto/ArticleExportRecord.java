@@ -0,0 +1,39 @@
+package com.smile.blue_blog.dto;
+
+import com.smile.blue_blog.entity.Article;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 导出文件中的一行。字段名与 CreateArticleRequest 一致，导出文件可以直接用于批量导入
+ */
+public record ArticleExportRecord(Long id,
+                                  Long authorId,
+                                  String title,
+                                  String summary,
+                                  String content,
+                                  String coverImage,
+                                  String category,
+                                  List<String> tags,
+                                  Integer status,
+                                  String password,
+                                  Boolean isTop,
+                                  Boolean isRecommended,
+                                  Integer viewCount,
+                                  Integer likeCount,
+                                  Integer commentCount,
+                                  LocalDateTime createTime,
+                                  LocalDateTime updateTime) {
+
+    /**
+     * 作者只取代理上的主键，不触发加载
+     */
+    public static ArticleExportRecord of(Article article) {
+        return new ArticleExportRecord(article.getId(), article.getAuthor().getId(), article.getTitle(),
+                article.getSummary(), article.getContent(), article.getCoverImage(), article.getCategory(),
+                article.getTagList(), article.getStatus(), article.getPassword(), article.getIsTop(),
+                article.getIsRecommended(), article.getViewCount(), article.getLikeCount(),
+                article.getCommentCount(), article.getCreateTime(), article.getUpdateTime());
+    }
+}
@@ -0,0 +1,9 @@
+package com.smile.blue_blog.dto;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * 分面浏览结果：当前页文章 + 命中集合上的分面计数
+ */
+public record ArticleFacetPage(Page<ArticleSummaryView> articles, ArticleFacets facets) {
+}
@@ -0,0 +1,12 @@
+package com.smile.blue_blog.dto;
+
+import java.util.Map;
+
+/**
+ * 分面计数（各维度按文章数倒序）
+ */
+public record ArticleFacets(Map<String, Long> categories,
+                            Map<String, Long> tags,
+                            Map<Long, Long> authors,
+                            Map<Integer, Long> years) {
+}
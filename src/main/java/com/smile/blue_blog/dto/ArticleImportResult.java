@@ -0,0 +1,12 @@
+package com.smile.blue_blog.dto;
+
+import java.util.List;
+
+/**
+ * 批量导入结果：index 为条目在请求中的序号（从 0 开始）
+ */
+public record ArticleImportResult(int total, int imported, List<ItemError> errors) {
+
+    public record ItemError(int index, String title, String message) {
+    }
+}
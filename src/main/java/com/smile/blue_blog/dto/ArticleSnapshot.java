@@ -0,0 +1,47 @@
+package com.smile.blue_blog.dto;
+
+import com.smile.blue_blog.entity.Article;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 文章索引相关字段的不可变快照（不包含正文）
+ */
+public record ArticleSnapshot(Long id,
+                              Integer status,
+                              String category,
+                              Long authorId,
+                              String tags,
+                              LocalDateTime createTime) {
+
+    public static ArticleSnapshot of(Article article) {
+        if (article == null) {
+            return null;
+        }
+        Long authorId = article.getAuthor() != null ? article.getAuthor().getId() : null;
+        return new ArticleSnapshot(article.getId(), article.getStatus(), article.getCategory(),
+                authorId, article.getTags(), article.getCreateTime());
+    }
+
+    public boolean isPublished() {
+        return status != null && status == Article.STATUS_PUBLISHED;
+    }
+
+    /**
+     * 拆分后的标签（去空白、去重，保持原顺序）
+     */
+    public List<String> tagList() {
+        if (tags == null || tags.trim().isEmpty()) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>();
+        Arrays.stream(tags.split("\\s*,\\s*"))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty() && !result.contains(tag))
+                .forEach(result::add);
+        return result;
+    }
+}
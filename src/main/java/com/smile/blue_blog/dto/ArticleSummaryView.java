@@ -0,0 +1,52 @@
+package com.smile.blue_blog.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文章列表投影：只包含列表页需要的字段，不读取正文
+ *
+ * 通过 JPQL 构造表达式直接从数据库查询，字段顺序需与 ArticleRepository.SUMMARY_SELECT 保持一致；
+ * 作者的展示信息在同一条查询中关联 users 表取出，列表不再逐条加载作者
+ */
+public record ArticleSummaryView(Long id,
+                                 String title,
+                                 String summary,
+                                 String coverImage,
+                                 String category,
+                                 String tags,
+                                 Integer viewCount,
+                                 Integer likeCount,
+                                 Integer commentCount,
+                                 Integer status,
+                                 Boolean isTop,
+                                 Boolean isRecommended,
+                                 LocalDateTime createTime,
+                                 LocalDateTime updateTime,
+                                 Long authorId,
+                                 String authorUsername,
+                                 String authorNickname,
+                                 String authorAvatar) {
+
+    /**
+     * 与 User#getDisplayName 保持一致：有昵称用昵称，否则用用户名
+     */
+    @JsonProperty("authorName")
+    public String authorName() {
+        return authorNickname != null && !authorNickname.trim().isEmpty() ? authorNickname : authorUsername;
+    }
+
+    /**
+     * 与 Article#getTagList 保持相同的输出字段
+     */
+    @JsonProperty("tagList")
+    public List<String> tagList() {
+        if (tags == null || tags.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return List.of(tags.split("\\s*,\\s*"));
+    }
+}
@@ -0,0 +1,22 @@
+package com.smile.blue_blog.dto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 游标分页结果（不统计总数）
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasMore) {
+
+    /**
+     * 响应中的分页信息
+     */
+    public Map<String, Object> pagination() {
+        Map<String, Object> pagination = new LinkedHashMap<>();
+        pagination.put("size", content.size());
+        pagination.put("hasMore", hasMore);
+        pagination.put("nextCursor", nextCursor);
+        return pagination;
+    }
+}
@@ -0,0 +1,7 @@
+package com.smile.blue_blog.dto;
+
+/**
+ * Markdown 渲染结果：正文 HTML、目录 HTML，以及源文本的 SHA-256
+ */
+public record RenderedContent(String hash, String html, String toc) {
+}
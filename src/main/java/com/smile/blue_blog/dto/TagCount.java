@@ -0,0 +1,7 @@
+package com.smile.blue_blog.dto;
+
+/**
+ * 标签及其文章数
+ */
+public record TagCount(String tag, long count) {
+}
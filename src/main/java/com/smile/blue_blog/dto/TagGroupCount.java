@@ -0,0 +1,11 @@
+package com.smile.blue_blog.dto;
+
+/**
+ * article_tags 按 (标签, 状态, 分类, 作者) 分组后的计数，用于启动时构建标签统计
+ */
+public record TagGroupCount(String tag,
+                            Integer status,
+                            String category,
+                            Long authorId,
+                            Long count) {
+}
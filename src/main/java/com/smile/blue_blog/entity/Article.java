@@ -10,11 +10,24 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+        @Index(name = "idx_articles_status_time", columnList = "status, create_time, id"),
+        @Index(name = "idx_articles_category_status_time", columnList = "category, status, create_time, id"),
+        @Index(name = "idx_articles_author_time", columnList = "author_id, create_time, id"),
+        @Index(name = "idx_articles_status_views", columnList = "status, view_count, id")
+})
 public class Article {
 
+    public static final int STATUS_DRAFT = 0;
+    public static final int STATUS_PUBLISHED = 1;
+
+    /** 每次从 id_generators 预取的ID数，批量插入时无需逐条取回自增主键 */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "article_id")
+    @TableGenerator(name = "article_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "next_val", pkColumnValue = "articles", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -33,10 +46,14 @@ public class Article {
     @Column(length = 500)
     private String tags;
 
+    // 计数只由 ArticleCounterService 的汇总 SQL 累加，实体保存时不写回，避免用旧值覆盖期间汇总进来的增量
+    @Column(updatable = false)
     private Integer viewCount = 0;
 
+    @Column(updatable = false)
     private Integer likeCount = 0;
 
+    @Column(updatable = false)
     private Integer commentCount = 0;
 
     @Column(nullable = false)
@@ -66,6 +83,26 @@ public class Article {
     @Column(length = 100)
     private String password;
 
+    // 正文统计（写入时单遍扫描生成）
+    private Integer wordCount = 0;
+
+    private Integer charCount = 0;
+
+    private Integer readingMinutes = 0;
+
+    // Markdown 渲染结果（写入时生成，按 content_hash 判断是否需要重新渲染）
+    @Column(columnDefinition = "MEDIUMTEXT")
+    @JsonIgnore
+    private String contentHtml;
+
+    @Column(columnDefinition = "TEXT")
+    @JsonIgnore
+    private String tocHtml;
+
+    @Column(name = "content_hash", length = 64)
+    @JsonIgnore
+    private String contentHash;
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
@@ -0,0 +1,42 @@
+package com.smile.blue_blog.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 文章计数分片：写入随机落在某个分片上，定时汇总回 articles 表
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@IdClass(ArticleCounterShard.Key.class)
+@Table(name = "article_counter_shards")
+public class ArticleCounterShard {
+
+    @Id
+    @Column(name = "article_id")
+    private Long articleId;
+
+    @Id
+    @Column(name = "shard")
+    private Integer shard;
+
+    @Column(nullable = false)
+    private Long views = 0L;
+
+    @Column(nullable = false)
+    private Long likes = 0L;
+
+    @Column(nullable = false)
+    private Long comments = 0L;
+
+    @Data
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+        private Long articleId;
+        private Integer shard;
+    }
+}
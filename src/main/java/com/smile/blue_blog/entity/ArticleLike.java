@@ -0,0 +1,32 @@
+package com.smile.blue_blog.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章点赞记录，每个用户对同一篇文章最多一条
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "article_likes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_article_likes_article_user", columnNames = {"article_id", "user_id"}),
+        indexes = @Index(name = "idx_article_likes_user", columnList = "user_id"))
+public class ArticleLike {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "create_time", nullable = false)
+    private LocalDateTime createTime;
+}
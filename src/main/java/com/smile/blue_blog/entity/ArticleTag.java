@@ -0,0 +1,56 @@
+package com.smile.blue_blog.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章-标签关联表，冗余文章的状态、分类、作者和创建时间以便走索引范围扫描
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "article_tags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_article_tags_article_tag", columnNames = {"article_id", "tag"}),
+        indexes = {
+                @Index(name = "idx_article_tags_tag_status_time", columnList = "tag, status, create_time"),
+                @Index(name = "idx_article_tags_category_tag_status_time", columnList = "category, tag, status, create_time"),
+                @Index(name = "idx_article_tags_author_tag", columnList = "author_id, tag")
+        })
+public class ArticleTag {
+
+    public static final int TAG_MAX_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    @Column(nullable = false, length = TAG_MAX_LENGTH)
+    private String tag;
+
+    @Column(nullable = false)
+    private Integer status;
+
+    @Column(length = 50)
+    private String category;
+
+    @Column(name = "author_id")
+    private Long authorId;
+
+    @Column(name = "create_time", nullable = false)
+    private LocalDateTime createTime;
+
+    public ArticleTag(Long articleId, String tag, Integer status, String category, Long authorId, LocalDateTime createTime) {
+        this.articleId = articleId;
+        this.tag = tag;
+        this.status = status;
+        this.category = category;
+        this.authorId = authorId;
+        this.createTime = createTime;
+    }
+}
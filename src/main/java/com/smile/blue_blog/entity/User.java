@@ -22,6 +22,7 @@ public class User {
     public static final int ROLE_MAX_LENGTH = 20;
 
     public static final String DEFAULT_ROLE = "USER";
+    public static final String ROLE_ADMIN = "ADMIN";
     public static final int STATUS_ACTIVE = 1;
     public static final int STATUS_DISABLED = 0;
 
@@ -90,6 +91,11 @@ public class User {
         return STATUS_ACTIVE == status;
     }
 
+    @JsonIgnore
+    public boolean isAdmin() {
+        return ROLE_ADMIN.equals(role);
+    }
+
     public void disable() {
         this.status = STATUS_DISABLED;
     }
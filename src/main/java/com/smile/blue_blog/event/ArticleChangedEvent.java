@@ -0,0 +1,30 @@
+package com.smile.blue_blog.event;
+
+import com.smile.blue_blog.dto.ArticleSnapshot;
+import com.smile.blue_blog.entity.Article;
+
+/**
+ * 文章写入事件：新建时 before 为空，删除时 after 为空
+ */
+public record ArticleChangedEvent(ArticleSnapshot before, ArticleSnapshot after, Article article) {
+
+    public static ArticleChangedEvent created(Article article) {
+        return new ArticleChangedEvent(null, ArticleSnapshot.of(article), article);
+    }
+
+    public static ArticleChangedEvent updated(ArticleSnapshot before, Article article) {
+        return new ArticleChangedEvent(before, ArticleSnapshot.of(article), article);
+    }
+
+    public static ArticleChangedEvent deleted(Article article) {
+        return new ArticleChangedEvent(ArticleSnapshot.of(article), null, article);
+    }
+
+    public Long articleId() {
+        return after != null ? after.id() : before.id();
+    }
+
+    public boolean isDeleted() {
+        return after == null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.smile.blue_blog.event;
+
+/**
+ * 用户写入事件（资料、状态、删除），提交后用于失效本地缓存
+ */
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,31 @@
+package com.smile.blue_blog.repository;
+
+import com.smile.blue_blog.dto.ArticleCounters;
+import com.smile.blue_blog.entity.ArticleCounterShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArticleCounterShardRepository extends JpaRepository<ArticleCounterShard, ArticleCounterShard.Key> {
+
+    String COUNTERS_SELECT = "SELECT new com.smile.blue_blog.dto.ArticleCounters(a.id, " +
+            "COALESCE(a.viewCount, 0) + COALESCE((SELECT SUM(s.views) FROM ArticleCounterShard s WHERE s.articleId = a.id), 0), " +
+            "COALESCE(a.likeCount, 0) + COALESCE((SELECT SUM(s.likes) FROM ArticleCounterShard s WHERE s.articleId = a.id), 0), " +
+            "COALESCE(a.commentCount, 0) + COALESCE((SELECT SUM(s.comments) FROM ArticleCounterShard s WHERE s.articleId = a.id), 0)) " +
+            "FROM Article a ";
+
+    /**
+     * 单条语句读取已汇总值与分片增量，汇总任务在同一事务内搬移计数，因此读到的总和始终一致
+     */
+    @Query(COUNTERS_SELECT + "WHERE a.id = :id")
+    Optional<ArticleCounters> findCounters(@Param("id") Long id);
+
+    @Query(COUNTERS_SELECT + "WHERE a.id IN :ids")
+    List<ArticleCounters> findCountersByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,39 @@
+package com.smile.blue_blog.repository;
+
+import com.smile.blue_blog.entity.ArticleLike;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArticleLikeRepository extends JpaRepository<ArticleLike, Long> {
+
+    /**
+     * 插入点赞记录，已存在时忽略；返回 1 表示新增，0 表示此前已点赞
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO article_likes (article_id, user_id, create_time) VALUES (:articleId, :userId, NOW())",
+            nativeQuery = true)
+    int insertIgnore(@Param("articleId") Long articleId, @Param("userId") Long userId);
+
+    /**
+     * 删除点赞记录；返回 1 表示取消成功，0 表示此前未点赞
+     */
+    @Modifying
+    @Query("DELETE FROM ArticleLike l WHERE l.articleId = :articleId AND l.userId = :userId")
+    int deleteByArticleIdAndUserId(@Param("articleId") Long articleId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ArticleLike l WHERE l.articleId = :articleId")
+    int deleteByArticleId(@Param("articleId") Long articleId);
+
+    /**
+     * 加载文章的全部点赞用户（走唯一索引前缀，不回表）
+     */
+    @Query("SELECT l.userId FROM ArticleLike l WHERE l.articleId = :articleId")
+    List<Long> findUserIdsByArticleId(@Param("articleId") Long articleId);
+}
@@ -1,27 +1,62 @@
 package com.smile.blue_blog.repository;
 
+import com.smile.blue_blog.dto.ArticleSnapshot;
+import com.smile.blue_blog.dto.ArticleSummaryView;
 import com.smile.blue_blog.entity.Article;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
+    /**
+     * 列表投影的查询前缀，字段顺序与 ArticleSummaryView 构造参数一致。
+     * a.author.username 等路径会生成到 users 表的内连接（author_id 非空，不会丢行），作者信息随列表一次查出
+     */
+    String SUMMARY_SELECT = "SELECT new com.smile.blue_blog.dto.ArticleSummaryView(" +
+            "a.id, a.title, a.summary, a.coverImage, a.category, a.tags, a.viewCount, a.likeCount, a.commentCount, " +
+            "a.status, a.isTop, a.isRecommended, a.createTime, a.updateTime, a.author.id, " +
+            "a.author.username, a.author.nickname, a.author.avatar) ";
+
+    /**
+     * 返回实体列表的查询一并抓取作者，避免逐条触发懒加载（或在事务外访问时抛出异常）
+     */
+    String AUTHOR_GRAPH = "author";
+
+    /**
+     * 流式读取的 fetch size：MySQL 驱动只有在 Integer.MIN_VALUE 时才逐行读取结果集，
+     * 其他取值会把整个结果集读入内存
+     */
+    String STREAM_FETCH_SIZE = "-2147483648";
+
     // ========== 基础查询方法 ==========
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     List<Article> findByAuthorIdOrderByCreateTimeDesc(Long authorId);
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     List<Article> findByStatusOrderByCreateTimeDesc(Integer status);
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     List<Article> findByCategoryAndStatusOrderByCreateTimeDesc(String category, Integer status);
 
     // ========== 新增查询方法 - 分页版本 ==========
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     Page<Article> findByAuthorIdOrderByCreateTimeDesc(Long authorId, Pageable pageable);
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     List<Article> findByAuthorIdAndStatusOrderByCreateTimeDesc(Long authorId, Integer status);
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     Page<Article> findByAuthorIdAndStatusOrderByCreateTimeDesc(Long authorId, Integer status, Pageable pageable);
 
     // ========== 安全增强：公开接口专用查询方法 ==========
@@ -49,26 +84,171 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     @Query("SELECT DISTINCT a.category FROM Article a WHERE a.status = 1 AND a.category IS NOT NULL")
     List<String> findDistinctCategoriesByStatusPublished();
 
+    /**
+     * 获取指定状态文章的索引快照（不读取正文）
+     */
+    @Query("SELECT new com.smile.blue_blog.dto.ArticleSnapshot(a.id, a.status, a.category, a.author.id, a.tags, a.createTime) " +
+            "FROM Article a WHERE a.status = :status")
+    List<ArticleSnapshot> findSnapshotsByStatus(@Param("status") Integer status);
+
+    /**
+     * 按ID顺序分批获取文章索引快照（用于回填任务）
+     */
+    @Query("SELECT new com.smile.blue_blog.dto.ArticleSnapshot(a.id, a.status, a.category, a.author.id, a.tags, a.createTime) " +
+            "FROM Article a WHERE a.id > :lastId ORDER BY a.id")
+    List<ArticleSnapshot> findSnapshotsAfterId(@Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * 按ID顺序分批获取指定状态的文章（用于重建搜索索引）
+     */
+    List<Article> findByStatusAndIdGreaterThanOrderByIdAsc(Integer status, Long id, Pageable pageable);
+
+    /**
+     * 获取指定时间之后更新过的文章（用于搜索索引增量同步）
+     */
+    List<Article> findByUpdateTimeGreaterThanEqual(LocalDateTime updateTime);
+
+    /**
+     * 指定状态的全部文章ID（用于搜索索引启动时核对删除）
+     */
+    @Query("SELECT a.id FROM Article a WHERE a.status = :status")
+    List<Long> findIdsByStatus(@Param("status") Integer status);
+
     // ========== 权限验证查询 ==========
     @Query("SELECT a FROM Article a WHERE a.id = :id AND a.author.id = :authorId")
     Optional<Article> findByIdAndAuthorId(@Param("id") Long id, @Param("authorId") Long authorId);
 
     // ========== 推荐和置顶查询 ==========
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     List<Article> findByIsTopTrueAndStatusOrderByCreateTimeDesc(Integer status);
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     List<Article> findByIsRecommendedTrueAndStatusOrderByCreateTimeDesc(Integer status);
 
     // ========== 分页查询 ==========
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     Page<Article> findByStatusOrderByCreateTimeDesc(Integer status, Pageable pageable);
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     Page<Article> findByCategoryAndStatusOrderByCreateTimeDesc(String category, Integer status, Pageable pageable);
 
-    // ========== 搜索功能（使用参数化查询避免SQL注入） ==========
+    // ========== 搜索功能（使用参数化查询避免SQL注入，已发布文章优先走全文索引） ==========
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     @Query("SELECT a FROM Article a WHERE a.status = :status AND " +
             "(LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(a.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(a.tags) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<Article> searchArticles(@Param("keyword") String keyword, @Param("status") Integer status, Pageable pageable);
 
+    // ========== 列表投影查询（只读取列表字段，不加载正文） ==========
+
+    @Query(value = SUMMARY_SELECT + "FROM Article a WHERE a.status = :status ORDER BY a.createTime DESC, a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.status = :status")
+    Page<ArticleSummaryView> findSummariesByStatus(@Param("status") Integer status, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "FROM Article a WHERE a.category = :category AND a.status = :status " +
+            "ORDER BY a.createTime DESC, a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.category = :category AND a.status = :status")
+    Page<ArticleSummaryView> findSummariesByCategoryAndStatus(@Param("category") String category,
+                                                              @Param("status") Integer status,
+                                                              Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "FROM Article a WHERE a.author.id = :authorId ORDER BY a.createTime DESC, a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.author.id = :authorId")
+    Page<ArticleSummaryView> findSummariesByAuthor(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "FROM Article a WHERE a.author.id = :authorId AND a.status = :status " +
+            "ORDER BY a.createTime DESC, a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.author.id = :authorId AND a.status = :status")
+    Page<ArticleSummaryView> findSummariesByAuthorAndStatus(@Param("authorId") Long authorId,
+                                                            @Param("status") Integer status,
+                                                            Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "FROM Article a WHERE a.status = :status ORDER BY a.viewCount DESC, a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.status = :status")
+    Page<ArticleSummaryView> findPopularSummariesByStatus(@Param("status") Integer status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.isTop = true AND a.status = :status ORDER BY a.createTime DESC")
+    List<ArticleSummaryView> findTopSummariesByStatus(@Param("status") Integer status);
+
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.isRecommended = true AND a.status = :status ORDER BY a.createTime DESC")
+    List<ArticleSummaryView> findRecommendedSummariesByStatus(@Param("status") Integer status);
+
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.id IN :ids")
+    List<ArticleSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = SUMMARY_SELECT + "FROM Article a WHERE a.status = :status AND " +
+            "(LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(a.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(a.tags) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "ORDER BY a.createTime DESC, a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM Article a WHERE a.status = :status AND " +
+                    "(LOWER(a.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                    "LOWER(a.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+                    "LOWER(a.tags) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    Page<ArticleSummaryView> searchArticleSummaries(@Param("keyword") String keyword,
+                                                    @Param("status") Integer status,
+                                                    Pageable pageable);
+
+    // ========== 游标分页（seek 查询，按 (排序键, id) 定位，不统计总数） ==========
+
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.status = :status ORDER BY a.createTime DESC, a.id DESC")
+    List<ArticleSummaryView> findFirstPageByStatus(@Param("status") Integer status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.status = :status AND " +
+            "(a.createTime < :createTime OR (a.createTime = :createTime AND a.id < :id)) " +
+            "ORDER BY a.createTime DESC, a.id DESC")
+    List<ArticleSummaryView> findPageByStatusAfter(@Param("status") Integer status,
+                                                   @Param("createTime") LocalDateTime createTime,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.category = :category AND a.status = :status " +
+            "ORDER BY a.createTime DESC, a.id DESC")
+    List<ArticleSummaryView> findFirstPageByCategoryAndStatus(@Param("category") String category,
+                                                              @Param("status") Integer status,
+                                                              Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.category = :category AND a.status = :status AND " +
+            "(a.createTime < :createTime OR (a.createTime = :createTime AND a.id < :id)) " +
+            "ORDER BY a.createTime DESC, a.id DESC")
+    List<ArticleSummaryView> findPageByCategoryAndStatusAfter(@Param("category") String category,
+                                                              @Param("status") Integer status,
+                                                              @Param("createTime") LocalDateTime createTime,
+                                                              @Param("id") Long id,
+                                                              Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.author.id = :authorId AND (:status IS NULL OR a.status = :status) " +
+            "ORDER BY a.createTime DESC, a.id DESC")
+    List<ArticleSummaryView> findFirstPageByAuthor(@Param("authorId") Long authorId,
+                                                   @Param("status") Integer status,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.author.id = :authorId AND (:status IS NULL OR a.status = :status) AND " +
+            "(a.createTime < :createTime OR (a.createTime = :createTime AND a.id < :id)) " +
+            "ORDER BY a.createTime DESC, a.id DESC")
+    List<ArticleSummaryView> findPageByAuthorAfter(@Param("authorId") Long authorId,
+                                                   @Param("status") Integer status,
+                                                   @Param("createTime") LocalDateTime createTime,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.status = :status ORDER BY a.viewCount DESC, a.id DESC")
+    List<ArticleSummaryView> findFirstPopularPageByStatus(@Param("status") Integer status, Pageable pageable);
+
+    /**
+     * 浏览量为空的文章排在最后（降序时 NULL 最小）：游标停在非空浏览量上时全部在后面，
+     * 停在空浏览量上（viewCount 为 -1）时只取 id 更小的
+     */
+    @Query(SUMMARY_SELECT + "FROM Article a WHERE a.status = :status AND " +
+            "(a.viewCount < :viewCount OR (a.viewCount = :viewCount AND a.id < :id) " +
+            "OR (a.viewCount IS NULL AND (:viewCount >= 0 OR a.id < :id))) " +
+            "ORDER BY a.viewCount DESC, a.id DESC")
+    List<ArticleSummaryView> findPopularPageByStatusAfter(@Param("status") Integer status,
+                                                          @Param("viewCount") Integer viewCount,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
+
     // ========== 热门文章 ==========
+    @EntityGraph(attributePaths = AUTHOR_GRAPH)
     Page<Article> findByStatusOrderByViewCountDesc(Integer status, Pageable pageable);
 
     // ========== 统计功能 ==========
@@ -77,15 +257,15 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
     Long countByCategoryAndStatus(String category, Integer status);
 
     /**
-     * 统计指定标签和状态的文档数量（优化版）
+     * 统计指定标签和状态的文档数量（走 article_tags 索引）
      */
-    @Query("SELECT COUNT(a) FROM Article a WHERE a.status = :status AND a.tags LIKE CONCAT('%', :tag, '%')")
+    @Query("SELECT COUNT(t) FROM ArticleTag t WHERE t.status = :status AND t.tag = :tag")
     Long countByTagAndStatus(@Param("tag") String tag, @Param("status") Integer status);
 
     /**
-     * 统计指定分类、标签和状态的文档数量（优化版）
+     * 统计指定分类、标签和状态的文档数量（走 article_tags 索引）
      */
-    @Query("SELECT COUNT(a) FROM Article a WHERE a.category = :category AND a.status = :status AND a.tags LIKE CONCAT('%', :tag, '%')")
+    @Query("SELECT COUNT(t) FROM ArticleTag t WHERE t.category = :category AND t.status = :status AND t.tag = :tag")
     Long countByCategoryAndTagAndStatus(@Param("category") String category, @Param("tag") String tag, @Param("status") Integer status);
 
     // ========== 标签相关查询 ==========
@@ -114,4 +294,20 @@ public interface ArticleRepository extends JpaRepository<Article, Long> {
      */
     @Query("SELECT COUNT(a) > 0 FROM Article a WHERE a.id = :articleId AND a.author.id = :authorId")
     boolean hasArticlePermission(@Param("articleId") Long articleId, @Param("authorId") Long authorId);
-}
\ No newline at end of file
+
+    // ========== 导出（流式读取，需在事务内使用并关闭 Stream） ==========
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Article a WHERE a.author.id = :authorId ORDER BY a.id")
+    Stream<Article> streamByAuthorId(@Param("authorId") Long authorId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM Article a ORDER BY a.id")
+    Stream<Article> streamAll();
+}
@@ -0,0 +1,59 @@
+package com.smile.blue_blog.repository;
+
+import com.smile.blue_blog.dto.ArticleSummaryView;
+import com.smile.blue_blog.dto.TagGroupCount;
+import com.smile.blue_blog.entity.ArticleTag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArticleTagRepository extends JpaRepository<ArticleTag, Long> {
+
+    // ========== 列表查询（走 tag, status, create_time 索引，只读取列表字段） ==========
+
+    @Query(value = ArticleRepository.SUMMARY_SELECT + "FROM ArticleTag t JOIN Article a ON a.id = t.articleId " +
+            "WHERE t.tag = :tag AND t.status = :status ORDER BY t.createTime DESC, t.articleId DESC",
+            countQuery = "SELECT COUNT(t) FROM ArticleTag t WHERE t.tag = :tag AND t.status = :status")
+    Page<ArticleSummaryView> findSummariesByTagAndStatus(@Param("tag") String tag, @Param("status") Integer status, Pageable pageable);
+
+    @Query(value = ArticleRepository.SUMMARY_SELECT + "FROM ArticleTag t JOIN Article a ON a.id = t.articleId " +
+            "WHERE t.category = :category AND t.tag = :tag AND t.status = :status ORDER BY t.createTime DESC, t.articleId DESC",
+            countQuery = "SELECT COUNT(t) FROM ArticleTag t WHERE t.category = :category AND t.tag = :tag AND t.status = :status")
+    Page<ArticleSummaryView> findSummariesByCategoryAndTagAndStatus(@Param("category") String category, @Param("tag") String tag,
+                                                                   @Param("status") Integer status, Pageable pageable);
+
+    @Query(ArticleRepository.SUMMARY_SELECT + "FROM ArticleTag t JOIN Article a ON a.id = t.articleId " +
+            "WHERE t.tag = :tag AND t.status = :status ORDER BY t.createTime DESC, t.articleId DESC")
+    List<ArticleSummaryView> findSummariesByTagAndStatus(@Param("tag") String tag, @Param("status") Integer status);
+
+    @Query(ArticleRepository.SUMMARY_SELECT + "FROM ArticleTag t JOIN Article a ON a.id = t.articleId " +
+            "WHERE t.category = :category AND t.tag = :tag AND t.status = :status ORDER BY t.createTime DESC, t.articleId DESC")
+    List<ArticleSummaryView> findSummariesByCategoryAndTagAndStatus(@Param("category") String category, @Param("tag") String tag,
+                                                                   @Param("status") Integer status);
+
+    // ========== 统计 ==========
+
+    long countByTagAndStatus(String tag, Integer status);
+
+    long countByCategoryAndTagAndStatus(String category, String tag, Integer status);
+
+    // ========== 标签统计 ==========
+
+    @Query("SELECT new com.smile.blue_blog.dto.TagGroupCount(t.tag, t.status, t.category, t.authorId, COUNT(t)) " +
+            "FROM ArticleTag t GROUP BY t.tag, t.status, t.category, t.authorId")
+    List<TagGroupCount> countGroupedByTag();
+
+    // ========== 维护 ==========
+
+    @Modifying
+    @Query("DELETE FROM ArticleTag t WHERE t.articleId IN :articleIds")
+    int deleteByArticleIdIn(@Param("articleIds") Collection<Long> articleIds);
+}
@@ -1,87 +1,203 @@
 package com.smile.blue_blog.service;
 
+import com.smile.blue_blog.dto.ArticleCursor;
+import com.smile.blue_blog.dto.ArticleFacetPage;
+import com.smile.blue_blog.dto.ArticleSnapshot;
+import com.smile.blue_blog.dto.ArticleSummaryView;
 import com.smile.blue_blog.dto.CreateArticleRequest;
+import com.smile.blue_blog.dto.CursorPage;
+import com.smile.blue_blog.dto.RenderedContent;
+import com.smile.blue_blog.dto.TagCount;
 import com.smile.blue_blog.dto.UpdateArticleRequest;
 import com.smile.blue_blog.entity.Article;
 import com.smile.blue_blog.entity.User;
+import com.smile.blue_blog.event.ArticleChangedEvent;
 import com.smile.blue_blog.repository.ArticleRepository;
+import com.smile.blue_blog.repository.ArticleTagRepository;
 import com.smile.blue_blog.repository.UserRepository;
+import com.smile.blue_blog.service.cache.ArticleDetailCache;
+import com.smile.blue_blog.service.cache.SingleFlight;
+import com.smile.blue_blog.service.counter.ArticleCounterService;
+import com.smile.blue_blog.service.counter.ArticleViewCounterBuffer;
+import com.smile.blue_blog.service.index.ArticleFacetIndex;
+import com.smile.blue_blog.service.index.ArticleTagIndex;
+import com.smile.blue_blog.service.index.ArticleTagStatistics;
+import com.smile.blue_blog.service.render.MarkdownRenderer;
+import com.smile.blue_blog.service.render.MarkdownScanner;
+import com.smile.blue_blog.service.search.ArticleSearchService;
+import com.smile.blue_blog.service.search.SearchSort;
+import com.smile.blue_blog.service.trending.ArticleTrendingService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ArticleService {
 
+    /** 游标分页每页最多返回的条数 */
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final ArticleRepository articleRepository;
     private final UserRepository userRepository;
+    private final UserService userService;
+    private final ArticleTagRepository articleTagRepository;
+    private final ArticleTagIndex articleTagIndex;
+    private final ArticleFacetIndex articleFacetIndex;
+    private final ArticleTagStatistics articleTagStatistics;
+    private final ArticleSearchService articleSearchService;
+    private final ArticleViewCounterBuffer viewCounterBuffer;
+    private final ArticleCounterService articleCounterService;
+    private final ArticleTrendingService articleTrendingService;
+    private final ArticleDetailCache articleDetailCache;
+    private final MarkdownRenderer markdownRenderer;
+    private final SingleFlight<List<Object>, Object> articleQueryFlight;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
 
     // ========== 新增：文章列表查询方法 ==========
 
     /**
      * 获取已发布文章列表（分页）
      */
-    public Page<Article> findByStatus(Integer status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createTime").descending());
-        return articleRepository.findByStatusOrderByCreateTimeDesc(status, pageable);
+    public Page<ArticleSummaryView> findByStatus(Integer status, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return coalesce(() -> articleRepository.findSummariesByStatus(status, pageable),
+                "findByStatus", status, page, size);
     }
 
     /**
      * 根据分类获取已发布文章列表（分页）
      */
-    public Page<Article> findByCategoryAndStatus(String category, Integer status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createTime").descending());
-        return articleRepository.findByCategoryAndStatusOrderByCreateTimeDesc(category, status, pageable);
+    public Page<ArticleSummaryView> findByCategoryAndStatus(String category, Integer status, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return coalesce(() -> articleRepository.findSummariesByCategoryAndStatus(category, status, pageable),
+                "findByCategoryAndStatus", category, status, page, size);
     }
 
     /**
      * 根据标签获取已发布文章列表（分页）
      */
-    public Page<Article> findByTagAndStatus(String tag, Integer status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createTime").descending());
-        Page<Article> articles = articleRepository.findByStatusOrderByCreateTimeDesc(status, pageable);
+    public Page<ArticleSummaryView> findByTagAndStatus(String tag, Integer status, int page, int size) {
+        return findByCategoryAndTagAndStatus(null, tag, status, page, size);
+    }
 
-        // 过滤标签
-        List<Article> filteredArticles = articles.getContent().stream()
-                .filter(article -> article.getTags() != null && article.getTags().contains(tag))
-                .collect(Collectors.toList());
+    /**
+     * 根据分类和标签获取已发布文章列表（分页）
+     */
+    public Page<ArticleSummaryView> findByCategoryAndTagAndStatus(String category, String tag, Integer status, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
 
-        return new PageImpl<>(filteredArticles, pageable, filteredArticles.size());
+        return coalesce(() -> {
+            if (isPublished(status)) {
+                // 已发布文章走标签倒排索引，分页和总数都是精确的
+                ArticleTagIndex.PostingPage postings = articleTagIndex.find(category, tag, pageable.getOffset(), size);
+                return new PageImpl<>(findAllInOrder(postings.ids()), pageable, postings.total());
+            }
+
+            // 其他状态走 article_tags 索引
+            return category != null
+                    ? articleTagRepository.findSummariesByCategoryAndTagAndStatus(category, tag, status, pageable)
+                    : articleTagRepository.findSummariesByTagAndStatus(tag, status, pageable);
+        }, "findByCategoryAndTagAndStatus", category, tag, status, page, size);
     }
 
+    // ========== 游标分页（seek 查询，不统计总数，适合无限滚动） ==========
+
     /**
-     * 根据分类和标签获取已发布文章列表（分页）
+     * 获取文章列表（游标分页，可按分类、标签过滤；标签过滤只支持已发布文章）
      */
-    public Page<Article> findByCategoryAndTagAndStatus(String category, String tag, Integer status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createTime").descending());
-        Page<Article> articles = articleRepository.findByCategoryAndStatusOrderByCreateTimeDesc(category, status, pageable);
+    public CursorPage<ArticleSummaryView> findByStatusAfter(String category, String tag, Integer status, String cursor, int size) {
+        Pageable limit = cursorLimit(size);
+        ArticleCursor after = decodeCursor(cursor, true);
+
+        return coalesce(() -> {
+            List<ArticleSummaryView> articles;
+            if (tag != null) {
+                if (!isPublished(status)) {
+                    throw new RuntimeException("标签游标分页只支持已发布文章");
+                }
+                articles = findAllInOrder(articleTagIndex.findAfter(category, tag,
+                        after != null ? after.createTime() : null, after != null ? after.id() : null, size + 1));
+            } else if (category != null) {
+                articles = after == null
+                        ? articleRepository.findFirstPageByCategoryAndStatus(category, status, limit)
+                        : articleRepository.findPageByCategoryAndStatusAfter(category, status, after.createTime(), after.id(), limit);
+            } else {
+                articles = after == null
+                        ? articleRepository.findFirstPageByStatus(status, limit)
+                        : articleRepository.findPageByStatusAfter(status, after.createTime(), after.id(), limit);
+            }
+            return toCursorPage(articles, size, ArticleCursor::byCreateTime);
+        }, "findByStatusAfter", category, tag, status, cursor, size);
+    }
 
-        // 过滤标签
-        List<Article> filteredArticles = articles.getContent().stream()
-                .filter(article -> article.getTags() != null && article.getTags().contains(tag))
-                .collect(Collectors.toList());
+    /**
+     * 获取用户文章列表（游标分页，私有接口使用）
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ArticleSummaryView> getUserArticlesAfter(Long authorId, Integer status, String cursor, int size) {
+        Pageable limit = cursorLimit(size);
+        ArticleCursor after = decodeCursor(cursor, true);
+        List<ArticleSummaryView> articles = after == null
+                ? articleRepository.findFirstPageByAuthor(authorId, status, limit)
+                : articleRepository.findPageByAuthorAfter(authorId, status, after.createTime(), after.id(), limit);
+        return toCursorPage(articles, size, ArticleCursor::byCreateTime);
+    }
 
-        return new PageImpl<>(filteredArticles, pageable, filteredArticles.size());
+    /**
+     * 获取已发布的热门文章（游标分页）。
+     * 浏览量随计数汇总持续变化，翻页期间排名变动的文章可能重复出现或被跳过，只保证尽力而为；
+     * 需要稳定遍历时使用按发布时间排序的游标
+     */
+    public CursorPage<ArticleSummaryView> getPublishedPopularArticlesAfter(String cursor, int size) {
+        Pageable limit = cursorLimit(size);
+        ArticleCursor after = decodeCursor(cursor, false);
+        return coalesce(() -> {
+            List<ArticleSummaryView> articles = after == null
+                    ? articleRepository.findFirstPopularPageByStatus(Article.STATUS_PUBLISHED, limit)
+                    : articleRepository.findPopularPageByStatusAfter(Article.STATUS_PUBLISHED, after.viewCount(), after.id(), limit);
+            return toCursorPage(articles, size, ArticleCursor::byViewCount);
+        }, "getPublishedPopularArticlesAfter", cursor, size);
     }
 
     // ========== 安全增强：公开接口专用方法 ==========
 
     /**
-     * 获取已发布文章详情（公开接口使用，只返回已发布文章）
+     * 获取已发布文章详情（公开接口使用，只返回已发布文章；返回的是缓存中的共享实例，不可修改）
      */
     public Article getPublishedArticleDetail(Long id) {
-        return articleRepository.findByIdAndStatus(id, 1)
+        // 不标记只读：缓存失效后的重新加载要读主库，不能读到尚未同步的从库
+        return articleDetailCache.get(id, key -> articleRepository.findByIdAndStatus(key, Article.STATUS_PUBLISHED))
                 .orElseThrow(() -> new RuntimeException("文章不存在或未发布"));
     }
 
     /**
      * 获取作者文章详情（私有接口使用，可查看草稿，验证权限）
      */
+    @Transactional(readOnly = true)
     public Article getAuthorArticleDetail(Long id, Long authorId) {
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("文章不存在"));
@@ -97,72 +213,84 @@ public class ArticleService {
     /**
      * 获取已发布文章的标签（公开接口使用）
      */
+    @Transactional(readOnly = true)
     public List<String> findPublishedTags() {
-        List<Article> articles = articleRepository.findByStatusOrderByCreateTimeDesc(1);
-
-        return articles.stream()
-                .map(Article::getTags)
-                .filter(tags -> tags != null && !tags.trim().isEmpty())
-                .flatMap(tags -> Arrays.stream(tags.split("\\s*,\\s*")))
-                .map(String::trim)
-                .filter(tag -> !tag.isEmpty())
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        return articleTagStatistics.publishedTags();
+    }
+
+    /**
+     * 获取已发布文章的标签云及每个标签的文章数（公开接口使用，category 为空时统计全站）
+     */
+    @Transactional(readOnly = true)
+    public List<TagCount> findPublishedTagCounts(String category) {
+        return articleTagStatistics.publishedTagCounts(category);
+    }
+
+    /**
+     * 分面浏览已发布文章：按任意组合条件筛选，同时返回各维度的分面计数（公开接口使用）。
+     * size 与 facetLimit 分别不超过 MAX_PAGE_SIZE、MAX_FACET_LIMIT
+     */
+    public ArticleFacetPage browsePublishedArticles(ArticleFacetIndex.FacetQuery query, int page, int size, int facetLimit) {
+        Pageable pageable = PageRequest.of(page, Math.min(size, ArticleFacetIndex.MAX_PAGE_SIZE));
+        int facets = Math.max(0, Math.min(facetLimit, ArticleFacetIndex.MAX_FACET_LIMIT));
+        return coalesce(() -> {
+            ArticleFacetIndex.FacetHits hits = articleFacetIndex.search(query, pageable.getOffset(), pageable.getPageSize(), facets);
+            return new ArticleFacetPage(new PageImpl<>(findAllInOrder(hits.ids()), pageable, hits.total()), hits.facets());
+        }, "browsePublishedArticles", query, page, pageable.getPageSize(), facets);
     }
 
     /**
      * 获取已发布文章的分类（公开接口使用）
      */
     public List<String> findPublishedCategories() {
-        return articleRepository.findAllActiveCategories();
+        return coalesce(articleRepository::findAllActiveCategories, "findPublishedCategories");
     }
 
     /**
      * 获取指定分类下已发布文章的标签（公开接口使用）
      */
+    @Transactional(readOnly = true)
     public List<String> findPublishedTagsByCategory(String category) {
-        List<Article> articles = articleRepository.findByCategoryAndStatusOrderByCreateTimeDesc(category, 1);
-
-        return articles.stream()
-                .map(Article::getTags)
-                .filter(tags -> tags != null && !tags.trim().isEmpty())
-                .flatMap(tags -> Arrays.stream(tags.split("\\s*,\\s*")))
-                .map(String::trim)
-                .filter(tag -> !tag.isEmpty())
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        return articleTagStatistics.publishedTags(category);
     }
 
     /**
      * 获取已发布的推荐文章（公开接口使用）
      */
-    public List<Article> getPublishedRecommendedArticles() {
-        return articleRepository.findByIsRecommendedTrueAndStatusOrderByCreateTimeDesc(1);
+    public List<ArticleSummaryView> getPublishedRecommendedArticles() {
+        return coalesce(() -> articleRepository.findRecommendedSummariesByStatus(Article.STATUS_PUBLISHED),
+                "getPublishedRecommendedArticles");
     }
 
     /**
      * 获取已发布的置顶文章（公开接口使用）
      */
-    public List<Article> getPublishedTopArticles() {
-        return articleRepository.findByIsTopTrueAndStatusOrderByCreateTimeDesc(1);
+    public List<ArticleSummaryView> getPublishedTopArticles() {
+        return coalesce(() -> articleRepository.findTopSummariesByStatus(Article.STATUS_PUBLISHED),
+                "getPublishedTopArticles");
     }
 
     /**
      * 获取已发布的热门文章（公开接口使用）
      */
-    public Page<Article> getPublishedPopularArticles(int page, int size) {
+    public Page<ArticleSummaryView> getPublishedPopularArticles(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return articleRepository.findByStatusOrderByViewCountDesc(1, pageable);
+        return coalesce(() -> articleRepository.findPopularSummariesByStatus(Article.STATUS_PUBLISHED, pageable),
+                "getPublishedPopularArticles", page, size);
     }
 
     /**
      * 搜索已发布文章（公开接口使用，强制状态为1）
      */
-    public Page<Article> searchPublishedArticles(String keyword, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createTime").descending());
-        return articleRepository.searchArticles(keyword, 1, pageable);
+    public Page<ArticleSummaryView> searchPublishedArticles(String keyword, int page, int size) {
+        return searchPublishedArticles(keyword, SearchSort.CREATE_TIME, page, size);
+    }
+
+    /**
+     * 搜索已发布文章（支持按相关度或创建时间排序）
+     */
+    public Page<ArticleSummaryView> searchPublishedArticles(String keyword, SearchSort sort, int page, int size) {
+        return searchArticles(keyword, Article.STATUS_PUBLISHED, sort, page, size);
     }
 
     // ========== 现有的查询方法（保持兼容性） ==========
@@ -170,6 +298,7 @@ public class ArticleService {
     /**
      * 获取所有唯一的标签（兼容旧接口）
      */
+    @Transactional(readOnly = true)
     public List<String> findAllTags() {
         return findPublishedTags(); // 默认只返回已发布文章的标签
     }
@@ -184,30 +313,30 @@ public class ArticleService {
     /**
      * 根据标签查询文章（兼容旧接口）
      */
-    public List<Article> findByTagAndStatus(String tag, Integer status) {
-        List<Article> articles = articleRepository.findByStatusOrderByCreateTimeDesc(status);
-
-        return articles.stream()
-                .filter(article -> article.getTags() != null &&
-                        article.getTags().contains(tag))
-                .collect(Collectors.toList());
+    public List<ArticleSummaryView> findByTagAndStatus(String tag, Integer status) {
+        return findByCategoryAndTagAndStatus(null, tag, status);
     }
 
     /**
      * 根据分类和标签查询文章（兼容旧接口）
      */
-    public List<Article> findByCategoryAndTagAndStatus(String category, String tag, Integer status) {
-        List<Article> articles = articleRepository.findByCategoryAndStatusOrderByCreateTimeDesc(category, status);
+    public List<ArticleSummaryView> findByCategoryAndTagAndStatus(String category, String tag, Integer status) {
+        return coalesce(() -> {
+            if (isPublished(status)) {
+                ArticleTagIndex.PostingPage postings = articleTagIndex.find(category, tag, 0, Integer.MAX_VALUE);
+                return findAllInOrder(postings.ids());
+            }
 
-        return articles.stream()
-                .filter(article -> article.getTags() != null &&
-                        article.getTags().contains(tag))
-                .collect(Collectors.toList());
+            return category != null
+                    ? articleTagRepository.findSummariesByCategoryAndTagAndStatus(category, tag, status)
+                    : articleTagRepository.findSummariesByTagAndStatus(tag, status);
+        }, "findByCategoryAndTagAndStatus:all", category, tag, status);
     }
 
     /**
      * 获取某个分类下的所有标签（兼容旧接口）
      */
+    @Transactional(readOnly = true)
     public List<String> findTagsByCategory(String category) {
         return findPublishedTagsByCategory(category); // 默认只返回已发布文章的标签
     }
@@ -215,44 +344,37 @@ public class ArticleService {
     /**
      * 获取作者的所有标签（私有接口使用）
      */
+    @Transactional(readOnly = true)
     public List<String> findTagsByAuthor(Long authorId) {
-        List<Article> articles = articleRepository.findByAuthorIdOrderByCreateTimeDesc(authorId);
-
-        return articles.stream()
-                .map(Article::getTags)
-                .filter(tags -> tags != null && !tags.trim().isEmpty())
-                .flatMap(tags -> Arrays.stream(tags.split("\\s*,\\s*")))
-                .map(String::trim)
-                .filter(tag -> !tag.isEmpty())
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        return articleTagStatistics.authorTags(authorId);
     }
 
     // ========== 统计相关方法 ==========
 
+    @Transactional(readOnly = true)
     public long countByStatus(Integer status) {
         return articleRepository.countByStatus(status);
     }
 
+    @Transactional(readOnly = true)
     public long countByCategoryAndStatus(String category, Integer status) {
         return articleRepository.countByCategoryAndStatus(category, status);
     }
 
+    @Transactional(readOnly = true)
     public long countByTagAndStatus(String tag, Integer status) {
-        List<Article> articles = articleRepository.findByStatusOrderByCreateTimeDesc(status);
-        return articles.stream()
-                .filter(article -> article.getTags() != null &&
-                        article.getTags().contains(tag))
-                .count();
+        return countByCategoryAndTagAndStatus(null, tag, status);
     }
 
+    @Transactional(readOnly = true)
     public long countByCategoryAndTagAndStatus(String category, String tag, Integer status) {
-        List<Article> articles = articleRepository.findByCategoryAndStatusOrderByCreateTimeDesc(category, status);
-        return articles.stream()
-                .filter(article -> article.getTags() != null &&
-                        article.getTags().contains(tag))
-                .count();
+        if (isPublished(status)) {
+            return articleTagIndex.count(category, tag);
+        }
+
+        return category != null
+                ? articleTagRepository.countByCategoryAndTagAndStatus(category, tag, status)
+                : articleTagRepository.countByTagAndStatus(tag, status);
     }
 
     // ========== 文章管理方法（增强权限校验） ==========
@@ -260,10 +382,23 @@ public class ArticleService {
     /**
      * 创建文章
      */
+    @Transactional
     public Article createArticle(CreateArticleRequest request, Long authorId) {
-        User author = userRepository.findById(authorId)
-                .orElseThrow(() -> new RuntimeException("用户不存在"));
+        // 存在性走用户缓存，关联只需要主键引用
+        if (userService.findById(authorId).isEmpty()) {
+            throw new RuntimeException("用户不存在");
+        }
+        User author = userRepository.getReferenceById(authorId);
 
+        Article savedArticle = articleRepository.save(newArticle(request, author));
+        eventPublisher.publishEvent(ArticleChangedEvent.created(savedArticle));
+        return savedArticle;
+    }
+
+    /**
+     * 根据请求组装新文章（标签、摘要、正文统计、HTML 渲染），不保存；批量导入共用
+     */
+    public Article newArticle(CreateArticleRequest request, User author) {
         Article article = new Article();
         article.setTitle(request.getTitle());
         article.setContent(request.getContent());
@@ -278,25 +413,26 @@ public class ArticleService {
             article.setTags(tagsString);
         }
 
-        // 自动生成摘要
+        // 单遍扫描正文：统计字数和阅读时间，未填写摘要时自动生成
+        MarkdownScanner.Stats stats = applyStats(article);
         if (request.getSummary() == null || request.getSummary().trim().isEmpty()) {
-            String content = article.getContent().replaceAll("#", "").replaceAll("```.*?```", "");
-            String summary = content.length() > 200 ? content.substring(0, 200) + "..." : content;
-            article.setSummary(summary);
+            article.setSummary(stats.summary());
         } else {
             article.setSummary(request.getSummary());
         }
-
-        return articleRepository.save(article);
+        renderContent(article);
+        return article;
     }
 
     /**
      * 更新文章（增强权限校验）
      */
+    @Transactional
     public Article updateArticle(Long articleId, UpdateArticleRequest request, Long authorId) {
         // 使用 Repository 的权限验证方法
         Article article = articleRepository.findByIdAndAuthorId(articleId, authorId)
                 .orElseThrow(() -> new RuntimeException("文章不存在或无权修改"));
+        ArticleSnapshot before = ArticleSnapshot.of(article);
 
         article.setTitle(request.getTitle());
         article.setContent(request.getContent());
@@ -314,87 +450,223 @@ public class ArticleService {
             }
         }
 
-        // 处理摘要
+        // 处理摘要（传空字符串时按新正文重新生成）
+        MarkdownScanner.Stats stats = applyStats(article);
         if (request.getSummary() != null) {
-            article.setSummary(request.getSummary());
+            article.setSummary(request.getSummary().trim().isEmpty() ? stats.summary() : request.getSummary());
         }
+        renderContent(article);
 
-        return articleRepository.save(article);
+        Article savedArticle = articleRepository.save(article);
+        eventPublisher.publishEvent(ArticleChangedEvent.updated(before, savedArticle));
+        return savedArticle;
     }
 
     /**
      * 删除文章（增强权限校验）
      */
+    @Transactional
     public void deleteArticle(Long articleId, Long authorId) {
         // 使用 Repository 的权限验证方法
         Article article = articleRepository.findByIdAndAuthorId(articleId, authorId)
                 .orElseThrow(() -> new RuntimeException("文章不存在或无权删除"));
 
         articleRepository.delete(article);
+        eventPublisher.publishEvent(ArticleChangedEvent.deleted(article));
     }
 
     /**
      * 获取文章详情（兼容旧接口，默认只返回已发布文章）
      */
     public Article getArticleDetail(Long id) {
-        return getPublishedArticleDetail(id); // 默认行为：只返回已发布文章
+        Article cached = getPublishedArticleDetail(id); // 默认行为：只返回已发布文章
+        recordView(id);
+
+        // 缓存实例是共享的，计数叠加在浅拷贝上
+        Article article = new Article();
+        BeanUtils.copyProperties(cached, article);
+        applyCounters(article);
+        return article;
+    }
+
+    /**
+     * 获取正文的 HTML 渲染结果：优先使用写入时保存的结果，早于渲染功能的旧文章按需渲染（同样按内容哈希缓存）
+     */
+    public RenderedContent getRenderedContent(Article article) {
+        if (article.getContentHtml() != null && article.getContentHash() != null) {
+            return new RenderedContent(article.getContentHash(), article.getContentHtml(),
+                    article.getTocHtml() != null ? article.getTocHtml() : "");
+        }
+        return markdownRenderer.render(article.getContent());
+    }
+
+    /**
+     * 记录一次浏览：计数先进入内存缓冲，由后台任务批量写回，同时计入热榜
+     */
+    public void recordView(Long id) {
+        viewCounterBuffer.increment(id);
+        articleTrendingService.recordView(id);
     }
 
     /**
      * 获取用户文章列表（分页，私有接口使用）
      */
-    public Page<Article> getUserArticles(Long authorId, Integer status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createTime").descending());
+    @Transactional(readOnly = true)
+    public Page<ArticleSummaryView> getUserArticles(Long authorId, Integer status, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
 
         if (status != null) {
-            return articleRepository.findByAuthorIdAndStatusOrderByCreateTimeDesc(authorId, status, pageable);
+            return articleRepository.findSummariesByAuthorAndStatus(authorId, status, pageable);
         }
-        return articleRepository.findByAuthorIdOrderByCreateTimeDesc(authorId, pageable);
+        return articleRepository.findSummariesByAuthor(authorId, pageable);
     }
 
     /**
      * 搜索文章（兼容旧接口）
      */
-    public Page<Article> searchArticles(String keyword, Integer status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createTime").descending());
-        return articleRepository.searchArticles(keyword, status != null ? status : 1, pageable);
+    public Page<ArticleSummaryView> searchArticles(String keyword, Integer status, int page, int size) {
+        return searchArticles(keyword, status, SearchSort.CREATE_TIME, page, size);
+    }
+
+    /**
+     * 搜索文章：已发布文章走全文索引，其他状态或索引未就绪时回退到数据库查询
+     */
+    public Page<ArticleSummaryView> searchArticles(String keyword, Integer status, SearchSort sort, int page, int size) {
+        int effectiveStatus = status != null ? status : Article.STATUS_PUBLISHED;
+
+        Pageable pageable = PageRequest.of(page, Math.min(size, ArticleSearchService.MAX_PAGE_SIZE));
+        return coalesce(() -> {
+            if (isPublished(effectiveStatus) && articleSearchService.isReady()) {
+                ArticleSearchService.SearchHits hits = articleSearchService.search(keyword, sort, page, pageable.getPageSize());
+                return new PageImpl<>(findAllInOrder(hits.ids()), pageable, hits.total());
+            }
+
+            return articleRepository.searchArticleSummaries(keyword, effectiveStatus, pageable);
+        }, "searchArticles", keyword, effectiveStatus, sort, page, size);
     }
 
     /**
      * 获取推荐文章（兼容旧接口）
      */
-    public List<Article> getRecommendedArticles() {
+    public List<ArticleSummaryView> getRecommendedArticles() {
         return getPublishedRecommendedArticles(); // 默认只返回已发布的推荐文章
     }
 
     /**
      * 获取置顶文章（兼容旧接口）
      */
-    public List<Article> getTopArticles() {
+    public List<ArticleSummaryView> getTopArticles() {
         return getPublishedTopArticles(); // 默认只返回已发布的置顶文章
     }
 
     /**
      * 获取热门文章（分页，兼容旧接口）
      */
-    public Page<Article> getPopularArticles(int page, int size) {
+    public Page<ArticleSummaryView> getPopularArticles(int page, int size) {
         return getPublishedPopularArticles(page, size); // 默认只返回已发布的热门文章
     }
 
     /**
-     * 点赞文章
+     * 验证文章权限
      */
-    public void likeArticle(Long articleId) {
-        Article article = articleRepository.findById(articleId)
-                .orElseThrow(() -> new RuntimeException("文章不存在"));
-        article.incrementViewCount();
-        articleRepository.save(article);
+    @Transactional(readOnly = true)
+    public boolean checkArticlePermission(Long articleId, Long authorId) {
+        return articleRepository.existsByIdAndAuthorId(articleId, authorId);
     }
 
+    // ========== 辅助方法 ==========
+
     /**
-     * 验证文章权限
+     * 用"已汇总值 + 分片增量 + 内存缓冲"覆盖实体上的计数（实体已脱离持久化上下文，不会写回）
      */
-    public boolean checkArticlePermission(Long articleId, Long authorId) {
-        return articleRepository.existsByIdAndAuthorId(articleId, authorId);
+    private void applyCounters(Article article) {
+        articleCounterService.getCounters(article.getId()).ifPresent(counters -> {
+            article.setViewCount(Math.toIntExact(counters.viewCount() + viewCounterBuffer.pendingFor(article.getId())));
+            article.setLikeCount(Math.toIntExact(counters.likeCount()));
+            article.setCommentCount(Math.toIntExact(counters.commentCount()));
+        });
+    }
+
+    /**
+     * 同一查询（方法名 + 参数）的并发调用合并为一次执行，key 中的方法名保证结果类型一致。
+     * 调用方不开事务，只有实际执行查询的线程在只读事务中取连接，等待合并结果的线程不占用连接池
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(Supplier<T> loader, Object... key) {
+        return (T) articleQueryFlight.execute(Arrays.asList(key), () -> readOnlyTransaction.execute(status -> loader.get()));
+    }
+
+    /**
+     * 写入正文统计，返回的扫描结果同时用于生成摘要
+     */
+    private static MarkdownScanner.Stats applyStats(Article article) {
+        MarkdownScanner.Stats stats = MarkdownScanner.scan(article.getContent());
+        article.setWordCount(stats.wordCount());
+        article.setCharCount(stats.charCount());
+        article.setReadingMinutes(stats.readingMinutes());
+        return stats;
+    }
+
+    /**
+     * 正文有变化时重新渲染 HTML 和目录，内容未变（哈希相同）时保留原结果
+     */
+    private void renderContent(Article article) {
+        if (article.getContentHtml() != null
+                && MarkdownRenderer.hash(article.getContent()).equals(article.getContentHash())) {
+            return;
+        }
+        RenderedContent rendered = markdownRenderer.render(article.getContent());
+        article.setContentHtml(rendered.html());
+        article.setTocHtml(rendered.toc());
+        article.setContentHash(rendered.hash());
+    }
+
+    private static boolean isPublished(Integer status) {
+        return status != null && status == Article.STATUS_PUBLISHED;
+    }
+
+    private static ArticleCursor decodeCursor(String cursor, boolean byCreateTime) {
+        ArticleCursor decoded = ArticleCursor.decode(cursor);
+        if (decoded != null && decoded.isByCreateTime() != byCreateTime) {
+            throw new RuntimeException("无效的分页游标");
+        }
+        return decoded;
+    }
+
+    /**
+     * 游标分页多查询一条用于判断是否还有下一页；先校验页大小，PageRequest 不接受非正数
+     */
+    private static Pageable cursorLimit(int size) {
+        if (size < 1) {
+            throw new RuntimeException("每页数量必须大于0");
+        }
+        if (size > MAX_CURSOR_PAGE_SIZE) {
+            throw new RuntimeException("每页数量不能超过" + MAX_CURSOR_PAGE_SIZE);
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    private static CursorPage<ArticleSummaryView> toCursorPage(List<ArticleSummaryView> articles, int size,
+                                                               Function<ArticleSummaryView, ArticleCursor> cursorOf) {
+        if (articles.size() <= size) {
+            return new CursorPage<>(articles, null, false);
+        }
+        List<ArticleSummaryView> content = articles.subList(0, size);
+        return new CursorPage<>(content, cursorOf.apply(content.get(size - 1)).encode(), true);
+    }
+
+    /**
+     * 按给定ID顺序批量加载文章列表投影
+     */
+    private List<ArticleSummaryView> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ArticleSummaryView> articlesById = articleRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ArticleSummaryView::id, Function.identity()));
+        return ids.stream()
+                .map(articlesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.smile.blue_blog.service.cache;
+
+import com.smile.blue_blog.dto.ArticleSnapshot;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 公开集合接口的版本号：文章写入提交后递增，用于生成弱 ETag。
+ * 版本号只在内存中，启动时间戳作为前缀，重启后旧 ETag 自然失效
+ */
+@Component
+public class ArticleCollectionVersions {
+
+    public enum Collection {
+        /** 已发布文章列表（最新、分类、分面） */
+        ARTICLES,
+        /** 标签列表与标签云 */
+        TAGS,
+        /** 分类列表 */
+        CATEGORIES
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Collection, AtomicLong> versions = new EnumMap<>(Collection.class);
+
+    public ArticleCollectionVersions() {
+        for (Collection collection : Collection.values()) {
+            versions.put(collection, new AtomicLong());
+        }
+    }
+
+    public String etag(Collection collection) {
+        return "W/\"" + collection.name().toLowerCase() + "-" + epoch + "-" + versions.get(collection).get() + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        ArticleSnapshot before = event.before();
+        ArticleSnapshot after = event.after();
+
+        versions.get(Collection.ARTICLES).incrementAndGet();
+        if (before == null || after == null
+                || !Objects.equals(before.status(), after.status())
+                || !Objects.equals(before.category(), after.category())) {
+            versions.get(Collection.TAGS).incrementAndGet();
+            versions.get(Collection.CATEGORIES).incrementAndGet();
+        } else if (!before.tagList().equals(after.tagList())) {
+            versions.get(Collection.TAGS).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.smile.blue_blog.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smile.blue_blog.entity.Article;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 已发布文章详情的本地缓存：按正文大小计权重，Caffeine 的 W-TinyLFU 负责准入和淘汰，
+ * 文章写入提交后按ID精确失效。缓存中的实体被多个请求共享，调用方不得修改
+ */
+@Component
+public class ArticleDetailCache {
+
+    /** 对象头、时间字段、数字字段等固定开销的估算值 */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final Cache<Long, Article> cache;
+    private final SingleFlight<Long, Optional<Article>> loads;
+    /** 失效次数，加载期间发生过失效的结果不回填 */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ArticleDetailCache(MeterRegistry meterRegistry,
+                              @Value("${blog.article-cache.max-weight:33554432}") long maxWeight) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long id, Article article) -> weigh(article))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "article_detail");
+        this.loads = new SingleFlight<>(meterRegistry, "article_detail");
+    }
+
+    /**
+     * 读取文章，未命中时调用 loader 加载；同一篇文章的并发未命中只会加载一次。
+     * 在缓存锁外查库：get(key, loader) 会在 synchronized 中执行查询，虚拟线程下会钉住载体线程
+     */
+    public Optional<Article> get(Long id, Function<Long, Optional<Article>> loader) {
+        Article cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return loads.execute(id, () -> {
+            long generation = invalidations.get();
+            Optional<Article> loaded = loader.apply(id);
+            loaded.ifPresent(article -> putIfCurrent(id, article, generation));
+            return loaded;
+        });
+    }
+
+    /**
+     * 先递增失效次数再移除，与 putIfCurrent 的放入后复查配合，加载期间的失效不会残留旧值
+     */
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    /**
+     * 提交后失效
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidate(event.articleId());
+    }
+
+    /**
+     * 加载开始后没有失效才放入；放入后再复查一次，期间发生的失效可能早于放入，此时撤回刚放入的值
+     */
+    private void putIfCurrent(Long id, Article article, long generation) {
+        if (invalidations.get() != generation) {
+            return;
+        }
+        cache.put(id, article);
+        if (invalidations.get() != generation) {
+            cache.asMap().remove(id, article);
+        }
+    }
+
+    /**
+     * 估算占用字节数（Java 字符串按每字符 2 字节计）
+     */
+    private static int weigh(Article article) {
+        long chars = length(article.getContent()) + length(article.getContentHtml()) + length(article.getTocHtml())
+                + length(article.getTitle()) + length(article.getSummary())
+                + length(article.getTags()) + length(article.getCoverImage()) + length(article.getCategory());
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + chars * 2);
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,212 @@
+package com.smile.blue_blog.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smile.blue_blog.config.workload.Workload;
+import com.smile.blue_blog.config.workload.WorkloadContext;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 公开只读接口的整响应缓存：按规范化的路径 + 查询参数缓存序列化并 gzip 后的字节。
+ * 过期后在 max-stale 时间内继续返回旧内容，同时只由一个后台任务重新计算；
+ * 文章写入提交后把全部条目标记为过期（purge）；文章被删除或取消发布时直接清空（hard purge），不再返回旧内容。
+ * 条目的时间戳取开始计算的时刻，计算期间发生的 purge 会让这次结果一写入就是过期的
+ */
+@Component
+public class PublicResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final long ttlMillis;
+    private final Cache<String, Entry> cache;
+
+    /** 该时间点之前写入的条目一律视为过期 */
+    private volatile long purgedAt;
+    /** 该时间点之前开始计算的结果不再写入缓存（硬清除前开始的刷新可能包含已删除的内容） */
+    private volatile long hardPurgedAt;
+
+    public PublicResponseCache(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Qualifier("applicationTaskExecutor") Executor executor,
+                               @Value("${blog.response-cache.ttl-ms:30000}") long ttlMillis,
+                               @Value("${blog.response-cache.max-stale-ms:300000}") long maxStaleMillis,
+                               @Value("${blog.response-cache.max-weight:16777216}") long maxWeight) {
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.ttlMillis = ttlMillis;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String key, Entry entry) -> key.length() * 2 + entry.gzipped().length)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis + maxStaleMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "public_response");
+    }
+
+    private record Entry(byte[] gzipped, long createdAt, AtomicBoolean refreshing) {
+    }
+
+    /**
+     * 命中时直接返回缓存字节；未命中时执行 handler，只有 200 响应会被缓存。
+     * handler 可能在后台线程中执行，不能引用当前请求对象
+     */
+    public ResponseEntity<?> get(HttpServletRequest request, Supplier<ResponseEntity<?>> handler) {
+        String key = keyOf(request);
+        boolean acceptsGzip = acceptsGzip(request);
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null) {
+            boolean fresh = entry.createdAt() > purgedAt
+                    && System.currentTimeMillis() - entry.createdAt() < ttlMillis;
+            if (!fresh && entry.refreshing().compareAndSet(false, true)) {
+                // 刷新在线程池中执行，仍从公开读取的连接池取连接
+                executor.execute(() -> WorkloadContext.run(Workload.PUBLIC, () -> refresh(key, entry, handler)));
+            }
+            return toResponse(entry, acceptsGzip, fresh ? "HIT" : "STALE");
+        }
+
+        long startedAt = System.currentTimeMillis();
+        ResponseEntity<?> response = handler.get();
+        Entry created = store(key, response, startedAt);
+        return created != null ? toResponse(created, acceptsGzip, "MISS") : response;
+    }
+
+    /**
+     * 清除钩子：所有条目立即过期，下一次访问触发后台刷新
+     */
+    public void purge() {
+        purge(false);
+    }
+
+    /**
+     * hard 为 true 时同时删除全部条目，下一次访问同步重新计算，过期内容不会再被返回
+     */
+    public void purge(boolean hard) {
+        long now = System.currentTimeMillis();
+        if (hard) {
+            hardPurgedAt = now;
+        }
+        purgedAt = now;
+        if (hard) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * 删除或取消发布会让公开内容消失，需要硬清除；其余写入只标记过期
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        boolean removed = event.isDeleted()
+                || (event.before() != null && event.before().isPublished() && !event.after().isPublished());
+        purge(removed);
+    }
+
+    private void refresh(String key, Entry stale, Supplier<ResponseEntity<?>> handler) {
+        try {
+            long startedAt = System.currentTimeMillis();
+            if (store(key, handler.get(), startedAt) == null) {
+                cache.invalidate(key);
+            }
+        } catch (Exception e) {
+            System.err.println("响应缓存刷新失败 " + key + ": " + e.getMessage());
+        } finally {
+            stale.refreshing().set(false);
+        }
+    }
+
+    /**
+     * createdAt 为开始计算的时刻，而不是计算完成的时刻
+     */
+    private Entry store(String key, ResponseEntity<?> response, long createdAt) {
+        if (response == null || !response.getStatusCode().is2xxSuccessful() || response.getBody() == null
+                || createdAt <= hardPurgedAt) {
+            return null;
+        }
+        Entry entry = new Entry(gzip(serialize(response.getBody())), createdAt, new AtomicBoolean());
+        cache.put(key, entry);
+        return entry;
+    }
+
+    private ResponseEntity<byte[]> toResponse(Entry entry, boolean acceptsGzip, String cacheStatus) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header("X-Cache", cacheStatus);
+        if (acceptsGzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.gzipped());
+        }
+        return builder.body(gunzip(entry.gzipped()));
+    }
+
+    /**
+     * 路径 + 按名称排序的查询参数；忽略前端防缓存用的 "_" 参数
+     */
+    private static String keyOf(HttpServletRequest request) {
+        Map<String, String[]> params = new TreeMap<>(request.getParameterMap());
+        params.remove("_");
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        char separator = '?';
+        for (Map.Entry<String, String[]> param : params.entrySet()) {
+            key.append(separator).append(param.getKey()).append('=').append(String.join(",", Arrays.asList(param.getValue())));
+            separator = '&';
+        }
+        return key.toString();
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return gzip.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
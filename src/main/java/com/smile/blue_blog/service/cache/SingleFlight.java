@@ -0,0 +1,75 @@
+package com.smile.blue_blog.service.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并：同一个 key 同时只执行一次加载，并发的调用方共享同一个 CompletableFuture 的结果。
+ * 加载在第一个调用方的线程上执行，结束后立即移除，不做缓存；结果由所有调用方共享，不可修改
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter calls;
+    private final Counter coalesced;
+
+    public SingleFlight(MeterRegistry meterRegistry, String name) {
+        this.calls = Counter.builder("blog.single_flight.calls")
+                .description("经过请求合并的调用次数")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("blog.single_flight.coalesced")
+                .description("被合并到进行中加载、未实际执行的调用次数")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("blog.single_flight.in_flight", inFlight, Map::size)
+                .description("正在进行的加载数")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<? extends V> loader) {
+        calls.increment();
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 等待进行中的加载，加载方抛出的异常原样抛给每个等待者
+     */
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
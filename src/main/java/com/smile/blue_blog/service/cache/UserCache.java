@@ -0,0 +1,133 @@
+package com.smile.blue_blog.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smile.blue_blog.entity.User;
+import com.smile.blue_blog.event.UserChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 用户本地缓存：按ID缓存，另有用户名到ID的二级索引；用户写入提交后按ID失效。
+ * 读取时返回副本，调用方可以修改后再保存，不会影响缓存中的对象。
+ * 未命中时在缓存锁外查库（Caffeine 的 get(key, loader) 在 ConcurrentHashMap 的 synchronized 中执行 loader，
+ * 虚拟线程执行 JDBC 时会钉住载体线程）；加载期间发生过失效则不回填，避免把提交前读到的旧值放进缓存
+ */
+@Component
+public class UserCache {
+
+    private final Cache<Long, User> users;
+    private final Cache<String, Long> idsByUsername;
+    /** 失效次数，加载前后不一致说明加载期间有用户被修改 */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${blog.user-cache.max-size:10000}") long maxSize,
+                     @Value("${blog.user-cache.ttl-minutes:30}") long ttlMinutes) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        this.idsByUsername = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "user");
+    }
+
+    /**
+     * 按ID读取，未命中时调用 loader 加载；不存在的用户不缓存
+     */
+    public Optional<User> get(Long id, Function<Long, Optional<User>> loader) {
+        User cached = users.getIfPresent(id);
+        if (cached != null) {
+            idsByUsername.put(cached.getUsername(), cached.getId());
+            return Optional.of(copyOf(cached));
+        }
+        long generation = invalidations.get();
+        Optional<User> loaded = loader.apply(id);
+        loaded.ifPresent(user -> putIfCurrent(user, generation));
+        return loaded;
+    }
+
+    /**
+     * 按用户名读取：先查索引得到ID，索引缺失或已过时（用户名被修改）时调用 loader
+     */
+    public Optional<User> getByUsername(String username, Function<String, Optional<User>> loader) {
+        Long id = idsByUsername.getIfPresent(username);
+        User cached = id != null ? users.getIfPresent(id) : null;
+        if (cached != null && username.equals(cached.getUsername())) {
+            return Optional.of(copyOf(cached));
+        }
+        long generation = invalidations.get();
+        Optional<User> loaded = loader.apply(username);
+        loaded.ifPresent(user -> putIfCurrent(user, generation));
+        return loaded;
+    }
+
+    /**
+     * 放入缓存（保存的是副本，如登录时预热）
+     */
+    public void put(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        users.put(user.getId(), copyOf(user));
+        idsByUsername.put(user.getUsername(), user.getId());
+    }
+
+    /**
+     * 先递增失效次数再移除：检查通过的回填一定发生在移除之前，会被这次移除清掉
+     */
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        User old = users.getIfPresent(id);
+        users.invalidate(id);
+        if (old != null) {
+            idsByUsername.invalidate(old.getUsername());
+        }
+    }
+
+    private void putIfCurrent(User user, long generation) {
+        if (invalidations.get() == generation) {
+            put(user);
+        }
+    }
+
+    /**
+     * 提交后失效，保证禁用、改资料等操作在下一个请求立即生效
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    /**
+     * 只复制列字段，不复制懒加载的文章集合
+     */
+    public static User copyOf(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setPassword(user.getPassword());
+        copy.setEmail(user.getEmail());
+        copy.setNickname(user.getNickname());
+        copy.setAvatar(user.getAvatar());
+        copy.setBio(user.getBio());
+        copy.setRole(user.getRole());
+        copy.setStatus(user.getStatus());
+        copy.setLastLoginTime(user.getLastLoginTime());
+        copy.setCreateTime(user.getCreateTime());
+        copy.setUpdatedTime(user.getUpdatedTime());
+        return copy;
+    }
+}
@@ -0,0 +1,190 @@
+package com.smile.blue_blog.service.counter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smile.blue_blog.dto.ArticleCounters;
+import com.smile.blue_blog.repository.ArticleCounterShardRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分片计数器：浏览、点赞、评论的增量随机写入 article_counter_shards 的某一行，
+ * 避免热点文章的所有写入争抢 articles 表同一行的行锁；定时汇总回 articles 表
+ */
+@Service
+public class ArticleCounterService {
+
+    private static final String UPSERT_SQL = "INSERT INTO article_counter_shards (article_id, shard, views, likes, comments) " +
+            "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "views = views + VALUES(views), likes = likes + VALUES(likes), comments = comments + VALUES(comments)";
+
+    private static final String APPLY_SQL = "UPDATE articles SET view_count = COALESCE(view_count, 0) + ?, " +
+            "like_count = COALESCE(like_count, 0) + ?, comment_count = COALESCE(comment_count, 0) + ? WHERE id = ?";
+
+    private static final String SUBTRACT_SQL = "UPDATE article_counter_shards SET views = views - ?, " +
+            "likes = likes - ?, comments = comments - ? WHERE article_id = ? AND shard = ?";
+
+    private static final int ROLL_UP_BATCH_SIZE = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArticleCounterShardRepository articleCounterShardRepository;
+    private final int shardCount;
+    private final Cache<Long, Optional<ArticleCounters>> readCache;
+    /** 汇总期间要执行 SQL，用 ReentrantLock 而不是 synchronized，虚拟线程等待数据库时不会钉住载体线程 */
+    private final ReentrantLock rollUpLock = new ReentrantLock();
+
+    public ArticleCounterService(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ArticleCounterShardRepository articleCounterShardRepository,
+                                 @Value("${blog.counters.shards:16}") int shardCount,
+                                 @Value("${blog.counters.read-cache-ttl-ms:5000}") long readCacheTtlMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.articleCounterShardRepository = articleCounterShardRepository;
+        this.shardCount = Math.max(1, shardCount);
+        this.readCache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(readCacheTtlMs))
+                .build();
+    }
+
+    /**
+     * 一组计数增量
+     */
+    public record Delta(Long articleId, long views, long likes, long comments) {
+
+        public static Delta views(Long articleId, long views) {
+            return new Delta(articleId, views, 0, 0);
+        }
+
+        public static Delta likes(Long articleId, long likes) {
+            return new Delta(articleId, 0, likes, 0);
+        }
+
+        public static Delta comments(Long articleId, long comments) {
+            return new Delta(articleId, 0, 0, comments);
+        }
+    }
+
+    // ========== 写入 ==========
+
+    public void add(Delta delta) {
+        jdbcTemplate.update(UPSERT_SQL, delta.articleId(), randomShard(), delta.views(), delta.likes(), delta.comments());
+    }
+
+    public void addAll(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas.stream()
+                .map(d -> new Object[]{d.articleId(), randomShard(), d.views(), d.likes(), d.comments()})
+                .toList());
+    }
+
+    // ========== 读取 ==========
+
+    /**
+     * 单篇文章的计数，短时间缓存，热点文章的详情读取不必每次查库
+     */
+    public Optional<ArticleCounters> getCounters(Long articleId) {
+        // 在缓存锁外查库：get(key, loader) 会在 synchronized 中执行查询
+        Optional<ArticleCounters> cached = readCache.getIfPresent(articleId);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<ArticleCounters> loaded = articleCounterShardRepository.findCounters(articleId);
+        readCache.put(articleId, loaded);
+        return loaded;
+    }
+
+    public Map<Long, ArticleCounters> getCounters(Collection<Long> articleIds) {
+        Map<Long, ArticleCounters> result = new HashMap<>();
+        if (!articleIds.isEmpty()) {
+            articleCounterShardRepository.findCountersByIdIn(articleIds)
+                    .forEach(counters -> result.put(counters.articleId(), counters));
+        }
+        return result;
+    }
+
+    // ========== 汇总 ==========
+
+    @Scheduled(fixedDelayString = "${blog.counters.rollup-interval-ms:10000}")
+    public void scheduledRollUp() {
+        try {
+            rollUp();
+        } catch (Exception e) {
+            System.err.println("计数分片汇总失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 把分片中的增量搬到 articles 表，返回处理的文章数
+     */
+    public int rollUp() {
+        rollUpLock.lock();
+        try {
+            return doRollUp();
+        } finally {
+            rollUpLock.unlock();
+        }
+    }
+
+    private int doRollUp() {
+        int total = 0;
+        while (true) {
+            List<Long> articleIds = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT article_id FROM article_counter_shards " +
+                            "WHERE views <> 0 OR likes <> 0 OR comments <> 0 LIMIT " + ROLL_UP_BATCH_SIZE,
+                    Long.class);
+            if (articleIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> rollUp(articleIds));
+            total += articleIds.size();
+            if (articleIds.size() < ROLL_UP_BATCH_SIZE) {
+                break;
+            }
+        }
+        jdbcTemplate.update("DELETE FROM article_counter_shards WHERE views = 0 AND likes = 0 AND comments = 0");
+        return total;
+    }
+
+    /**
+     * 锁定分片行后累加到文章，再从分片中减去读到的值；
+     * 只减去已搬移的部分，汇总期间落到新分片行上的增量留到下一轮
+     */
+    private void rollUp(List<Long> articleIds) {
+        String placeholders = String.join(",", Collections.nCopies(articleIds.size(), "?"));
+        List<Object[]> shards = jdbcTemplate.query(
+                "SELECT article_id, shard, views, likes, comments FROM article_counter_shards " +
+                        "WHERE article_id IN (" + placeholders + ") FOR UPDATE",
+                (rs, rowNum) -> new Object[]{rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getLong(1), rs.getInt(2)},
+                articleIds.toArray());
+
+        Map<Long, long[]> sums = new LinkedHashMap<>();
+        for (Object[] shard : shards) {
+            long[] sum = sums.computeIfAbsent((Long) shard[3], id -> new long[3]);
+            sum[0] += (Long) shard[0];
+            sum[1] += (Long) shard[1];
+            sum[2] += (Long) shard[2];
+        }
+
+        jdbcTemplate.batchUpdate(APPLY_SQL, sums.entrySet().stream()
+                .map(e -> new Object[]{e.getValue()[0], e.getValue()[1], e.getValue()[2], e.getKey()})
+                .toList());
+        jdbcTemplate.batchUpdate(SUBTRACT_SQL, shards);
+    }
+
+    private int randomShard() {
+        return ThreadLocalRandom.current().nextInt(shardCount);
+    }
+}
@@ -0,0 +1,170 @@
+package com.smile.blue_blog.service.counter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 文章浏览量写缓冲：请求只在内存中累加，定时把聚合后的增量批量写入计数分片。
+ * 每篇文章一个分段的 LongAdder，热点文章的并发浏览不会争抢同一个缓存行
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleViewCounterBuffer {
+
+    private final ArticleCounterService articleCounterService;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 单篇文章的计数器；retired 由刷盘线程在移出缓冲区前置位，之后落到它上面的累加由累加方自己搬到新计数器
+     */
+    private static final class Cell {
+        final LongAdder views = new LongAdder();
+        volatile boolean retired;
+    }
+
+    private final Map<Long, Cell> pending = new ConcurrentHashMap<>();
+    /** 刷盘期间要写库，用 ReentrantLock 而不是 synchronized，避免虚拟线程钉住载体线程 */
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private Timer flushTimer;
+    private Counter flushedViews;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("blog.view_counter.pending_articles", pending, Map::size)
+                .description("待刷盘的文章数")
+                .register(meterRegistry);
+        Gauge.builder("blog.view_counter.pending_views", this, ArticleViewCounterBuffer::pendingViews)
+                .description("待刷盘的浏览量")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("blog.view_counter.flush")
+                .description("浏览量刷盘耗时")
+                .register(meterRegistry);
+        flushedViews = Counter.builder("blog.view_counter.flushed_views")
+                .description("已写回数据库的浏览量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一次浏览（无锁，累加到分段计数器）
+     */
+    public void increment(Long articleId) {
+        add(articleId, 1);
+    }
+
+    /**
+     * 累加到文章的计数器。累加后看到计数器未退役，说明累加早于退役，会被刷盘线程退役后的最后一次清零取走；
+     * 看到已退役时取走计数器里剩下的值（可能含其他晚到的累加，也可能已被别人取走）搬到新计数器。
+     * 每次累加只会被某一次 sumThenReset 取走一次，不丢也不重复
+     */
+    private void add(Long articleId, long views) {
+        while (views > 0) {
+            Cell cell = pending.computeIfAbsent(articleId, id -> new Cell());
+            cell.views.add(views);
+            if (!cell.retired) {
+                return;
+            }
+            pending.remove(articleId, cell);
+            views = cell.views.sumThenReset();
+        }
+    }
+
+    /**
+     * 尚未写回数据库的浏览量，读接口可叠加到数据库值上
+     */
+    public long pendingFor(Long articleId) {
+        Cell cell = pending.get(articleId);
+        return cell == null ? 0 : Math.max(0, cell.views.sum());
+    }
+
+    /**
+     * 定时刷盘，间隔由 blog.view-counter.flush-interval-ms 控制
+     */
+    @Scheduled(fixedDelayString = "${blog.view-counter.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.err.println("浏览量刷盘失败，增量已放回缓冲区: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 应用关闭前写回剩余增量
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            int flushed = flush();
+            System.out.println("关闭前浏览量刷盘完成，文章数: " + flushed);
+        } catch (Exception e) {
+            System.err.println("关闭前浏览量刷盘失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 把所有增量合并成一次批量写入，返回本次写回的文章数
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            return doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private int doFlush() {
+        List<ArticleCounterService.Delta> batch = new ArrayList<>();
+        for (Map.Entry<Long, Cell> entry : pending.entrySet()) {
+            Cell cell = entry.getValue();
+            long delta = cell.views.sumThenReset();
+            if (delta == 0) {
+                // 空闲条目先退役再移出缓冲区，最后清零一次取走退役前落下的累加
+                cell.retired = true;
+                pending.remove(entry.getKey(), cell);
+                delta = cell.views.sumThenReset();
+            }
+            if (delta > 0) {
+                batch.add(ArticleCounterService.Delta.views(entry.getKey(), delta));
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            articleCounterService.addAll(batch);
+        } catch (RuntimeException e) {
+            // 写库失败时把增量放回，下一轮重试
+            for (ArticleCounterService.Delta delta : batch) {
+                add(delta.articleId(), delta.views());
+            }
+            throw e;
+        } finally {
+            sample.stop(flushTimer);
+        }
+
+        flushedViews.increment(batch.stream().mapToLong(ArticleCounterService.Delta::views).sum());
+        return batch.size();
+    }
+
+    private double pendingViews() {
+        return pending.values().stream().mapToLong(cell -> Math.max(0, cell.views.sum())).sum();
+    }
+}
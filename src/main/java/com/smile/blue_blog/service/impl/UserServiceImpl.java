@@ -1,10 +1,13 @@
 package com.smile.blue_blog.service.impl;
 
 import com.smile.blue_blog.entity.User;
+import com.smile.blue_blog.event.UserChangedEvent;
 import com.smile.blue_blog.repository.UserRepository;
 import com.smile.blue_blog.service.UserService;
+import com.smile.blue_blog.service.cache.UserCache;
 import com.smile.blue_blog.utils.JwtUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,6 +15,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * 只读查询标记 readOnly，启用读写分离时走从库；按ID/用户名的查询会填充用户缓存，
+ * 留在主库上读，避免写入后缓存失效、又从尚未同步的从库加载到旧数据
+ */
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -19,38 +26,46 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
+    private final UserCache userCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         return userRepository.findAll();
     }
 
     @Override
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+        return userCache.get(id, userRepository::findById);
     }
 
     @Override
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userCache.getByUsername(username, userRepository::findOptionalByUsername).orElse(null);
     }
 
     @Override
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Override
     public void deleteById(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
         return userRepository.existsByUsername(username);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
@@ -96,12 +111,19 @@ public class UserServiceImpl implements UserService {
         }
 
         // 更新最后登录时间
-        userRepository.updateLastLoginTime(user.getId(), LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.updateLastLoginTime(user.getId(), now);
+
+        // 预热缓存，登录后的令牌校验和资料读取不再查库
+        User snapshot = UserCache.copyOf(user);
+        snapshot.setLastLoginTime(now);
+        userCache.put(snapshot);
 
         return user;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -112,7 +134,7 @@ public class UserServiceImpl implements UserService {
      * 使用 Optional 的安全查询
      */
     public Optional<User> findOptionalByUsername(String username) {
-        return userRepository.findOptionalByUsername(username);
+        return userCache.getByUsername(username, userRepository::findOptionalByUsername);
     }
 
     /**
@@ -120,6 +142,7 @@ public class UserServiceImpl implements UserService {
      */
     public boolean updateUserProfile(Long userId, String nickname, String bio, String avatar) {
         int updated = userRepository.updateUserProfile(userId, nickname, bio, avatar);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
         return updated > 0;
     }
 
@@ -128,12 +151,14 @@ public class UserServiceImpl implements UserService {
      */
     public boolean updateUserStatus(Long userId, Integer status) {
         int updated = userRepository.updateUserStatus(userId, status);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
         return updated > 0;
     }
 
     /**
      * 根据状态查询用户
      */
+    @Transactional(readOnly = true)
     public List<User> findUsersByStatus(Integer status) {
         return userRepository.findByStatusOrderByCreateTimeDesc(status);
     }
@@ -141,6 +166,7 @@ public class UserServiceImpl implements UserService {
     /**
      * 检查用户名或邮箱是否被其他用户使用
      */
+    @Transactional(readOnly = true)
     public boolean isUsernameOrEmailTaken(String username, String email, Long excludeUserId) {
         return userRepository.existsByUsernameOrEmailExcludingId(username, email, excludeUserId);
     }
@@ -148,6 +174,7 @@ public class UserServiceImpl implements UserService {
     /**
      * 验证用户凭据（不抛出异常版本）
      */
+    @Transactional(readOnly = true)
     public boolean validateCredentials(String username, String password) {
         return userRepository.validateUserCredentials(username, password);
     }
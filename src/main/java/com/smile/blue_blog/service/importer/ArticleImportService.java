@@ -0,0 +1,189 @@
+package com.smile.blue_blog.service.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smile.blue_blog.dto.ArticleImportResult;
+import com.smile.blue_blog.dto.CreateArticleRequest;
+import com.smile.blue_blog.entity.Article;
+import com.smile.blue_blog.entity.User;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import com.smile.blue_blog.repository.UserRepository;
+import com.smile.blue_blog.service.ArticleService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 文章批量导入：请求体为 JSON 数组或 NDJSON，边解析边入库。
+ * 作者只查询一次；每批一个事务，批内用 JDBC batch 插入（主键由表生成器预分配），提交后清空持久化上下文。
+ * 某一批失败时逐条重试以定位出错条目，其余条目照常导入
+ */
+@Service
+public class ArticleImportService {
+
+    /** 错误明细最多返回的条数 */
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ArticleService articleService;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public ArticleImportService(ArticleService articleService,
+                                UserRepository userRepository,
+                                EntityManager entityManager,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                @Value("${blog.import.batch-size:200}") int batchSize) {
+        this.articleService = articleService;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    private record Item(int index, CreateArticleRequest request) {
+    }
+
+    public ArticleImportResult importArticles(InputStream input, Long authorId) {
+        User author = userRepository.findById(authorId)
+                .orElseThrow(() -> new RuntimeException("用户不存在"));
+
+        List<ArticleImportResult.ItemError> errors = new ArrayList<>();
+        List<Item> batch = new ArrayList<>(batchSize);
+        int total = 0;
+        int imported = 0;
+
+        // readValues 对顶层数组逐个返回元素，对 NDJSON 逐行返回对象，都不会把整个请求体读入内存
+        try (MappingIterator<CreateArticleRequest> items = objectMapper.readerFor(CreateArticleRequest.class).readValues(input)) {
+            while (items.hasNextValue()) {
+                int index = total++;
+                CreateArticleRequest request = items.nextValue();
+                String invalid = validate(request);
+                if (invalid != null) {
+                    addError(errors, index, request != null ? request.getTitle() : null, invalid);
+                    continue;
+                }
+                batch.add(new Item(index, request));
+                if (batch.size() >= batchSize) {
+                    imported += saveBatch(batch, author.getId(), errors);
+                    batch.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // 格式错误之后的位置不可靠，停止读取，已解析的条目照常导入
+            addError(errors, total, null, "解析失败，后续内容未导入: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            throw new RuntimeException("读取导入数据失败: " + e.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            imported += saveBatch(batch, author.getId(), errors);
+        }
+
+        System.out.println("文章批量导入完成，作者ID: " + authorId + "，条目数: " + total + "，成功: " + imported
+                + "，失败: " + (total - imported));
+        return new ArticleImportResult(total, imported, errors);
+    }
+
+    // ========== 写入 ==========
+
+    private int saveBatch(List<Item> batch, Long authorId, List<ArticleImportResult.ItemError> errors) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch, authorId));
+            return batch.size();
+        } catch (RuntimeException e) {
+            // 整批已回滚，逐条重试找出失败的条目
+            int saved = 0;
+            for (Item item : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(item), authorId));
+                    saved++;
+                } catch (RuntimeException itemError) {
+                    addError(errors, item.index(), item.request().getTitle(), rootMessage(itemError));
+                }
+            }
+            return saved;
+        }
+    }
+
+    private void persist(List<Item> items, Long authorId) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        User author = entityManager.getReference(User.class, authorId);
+
+        List<Article> articles = new ArrayList<>(items.size());
+        for (Item item : items) {
+            Article article = articleService.newArticle(item.request(), author);
+            entityManager.persist(article);
+            articles.add(article);
+        }
+        // 先整批写入文章，再发事件（标签关联表在同一事务中写入，索引和缓存在提交后更新）
+        entityManager.flush();
+        for (Article article : articles) {
+            eventPublisher.publishEvent(ArticleChangedEvent.created(article));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // ========== 校验 ==========
+
+    /**
+     * 与 articles 表的约束保持一致，提前拦下必然失败的条目，避免整批回滚
+     */
+    private static String validate(CreateArticleRequest request) {
+        if (request == null) {
+            return "条目为空";
+        }
+        if (request.getTitle() == null || request.getTitle().trim().isEmpty()) {
+            return "标题不能为空";
+        }
+        if (request.getTitle().length() > 200) {
+            return "标题不能超过200个字符";
+        }
+        if (request.getCategory() == null || request.getCategory().trim().isEmpty()) {
+            return "分类不能为空";
+        }
+        if (request.getCategory().length() > 50) {
+            return "分类不能超过50个字符";
+        }
+        if (request.getContent() == null) {
+            return "正文不能为空";
+        }
+        if (request.getTags() != null && String.join(",", request.getTags()).length() > 500) {
+            return "标签总长度不能超过500个字符";
+        }
+        if (request.getStatus() == null) {
+            return "状态不能为空";
+        }
+        return null;
+    }
+
+    private static void addError(List<ArticleImportResult.ItemError> errors, int index, String title, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new ArticleImportResult.ItemError(index, title, message));
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,249 @@
+package com.smile.blue_blog.service.index;
+
+import com.smile.blue_blog.dto.ArticleFacets;
+import com.smile.blue_blog.dto.ArticleSnapshot;
+import com.smile.blue_blog.entity.Article;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import com.smile.blue_blog.repository.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 已发布文章的分面索引：每个分类/标签/作者/年份一个 BitSet，
+ * 文档按创建时间升序编号，从高位向低位遍历即为最新优先
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleFacetIndex {
+
+    /** 每页最多返回的文章数与每个维度最多返回的分面数 */
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_FACET_LIMIT = 100;
+
+    private static final Comparator<ArticleSnapshot> OLDEST_FIRST = Comparator
+            .comparing(ArticleSnapshot::createTime)
+            .thenComparing(ArticleSnapshot::id);
+
+    private final ArticleRepository articleRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<Long, Integer> docByArticle = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Map<String, BitSet> byCategory = new HashMap<>();
+    private final Map<String, BitSet> byTag = new HashMap<>();
+    private final Map<Long, BitSet> byAuthor = new HashMap<>();
+
+    /**
+     * 查询条件，各条件之间为"且"，tags 中的多个标签也需同时命中
+     */
+    public record FacetQuery(String category, List<String> tags, Long authorId,
+                             LocalDate from, LocalDate to) {
+    }
+
+    public record FacetHits(List<Long> ids, long total, ArticleFacets facets) {
+    }
+
+    private record Doc(ArticleSnapshot snapshot, List<String> tags, int year) {
+
+        static Doc of(ArticleSnapshot snapshot) {
+            return new Doc(snapshot, snapshot.tagList(), snapshot.createTime().getYear());
+        }
+    }
+
+    @PostConstruct
+    public void rebuild() {
+        List<ArticleSnapshot> snapshots = articleRepository.findSnapshotsByStatus(Article.STATUS_PUBLISHED);
+
+        lock.writeLock().lock();
+        try {
+            load(snapshots);
+            System.out.println("分面索引构建完成，已索引文章数: " + docByArticle.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = docByArticle.get(event.articleId());
+            remove(event.articleId());
+            if (event.after() != null && event.after().isPublished()) {
+                if (existing != null && Objects.equals(docs.get(existing).snapshot().createTime(), event.after().createTime())) {
+                    // 普通编辑不改变创建时间，原位更新以保持编号顺序
+                    index(existing, event.after());
+                } else {
+                    add(event.after());
+                }
+            }
+            // 删除留下的空位过多时压缩编号
+            if (docs.size() > 64 && docByArticle.size() < docs.size() / 2) {
+                load(liveSnapshots());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 一次遍历命中文档：同时截取分页结果并累计各维度的分面计数
+     */
+    public FacetHits search(FacetQuery query, long offset, int limit, int facetLimit) {
+        lock.readLock().lock();
+        try {
+            BitSet matched = (BitSet) live.clone();
+            if (query.category() != null) {
+                matched.and(byCategory.getOrDefault(query.category(), new BitSet()));
+            }
+            if (query.tags() != null) {
+                for (String tag : query.tags()) {
+                    matched.and(byTag.getOrDefault(tag, new BitSet()));
+                }
+            }
+            if (query.authorId() != null) {
+                matched.and(byAuthor.getOrDefault(query.authorId(), new BitSet()));
+            }
+            LocalDateTime from = query.from() != null ? query.from().atStartOfDay() : null;
+            LocalDateTime to = query.to() != null ? query.to().plusDays(1).atStartOfDay() : null;
+
+            Map<String, Long> categories = new HashMap<>();
+            Map<String, Long> tags = new HashMap<>();
+            Map<Long, Long> authors = new HashMap<>();
+            Map<Integer, Long> years = new HashMap<>();
+            List<Long> ids = new ArrayList<>();
+            long total = 0;
+
+            for (int doc = matched.length() - 1; doc >= 0; doc = matched.previousSetBit(doc - 1)) {
+                Doc d = docs.get(doc);
+                LocalDateTime createTime = d.snapshot().createTime();
+                if ((from != null && createTime.isBefore(from)) || (to != null && !createTime.isBefore(to))) {
+                    continue;
+                }
+                if (total >= offset && ids.size() < limit) {
+                    ids.add(d.snapshot().id());
+                }
+                total++;
+
+                if (d.snapshot().category() != null) {
+                    categories.merge(d.snapshot().category(), 1L, Long::sum);
+                }
+                for (String tag : d.tags()) {
+                    tags.merge(tag, 1L, Long::sum);
+                }
+                if (d.snapshot().authorId() != null) {
+                    authors.merge(d.snapshot().authorId(), 1L, Long::sum);
+                }
+                years.merge(d.year(), 1L, Long::sum);
+            }
+
+            ArticleFacets facets = new ArticleFacets(top(categories, facetLimit), top(tags, facetLimit),
+                    top(authors, facetLimit), top(years, facetLimit));
+            return new FacetHits(ids, total, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== 维护 ==========
+
+    private void load(List<ArticleSnapshot> snapshots) {
+        docs.clear();
+        docByArticle.clear();
+        live.clear();
+        byCategory.clear();
+        byTag.clear();
+        byAuthor.clear();
+        snapshots.stream()
+                .filter(snapshot -> snapshot.createTime() != null)
+                .sorted(OLDEST_FIRST)
+                .forEach(this::append);
+    }
+
+    private void add(ArticleSnapshot snapshot) {
+        if (snapshot.createTime() == null) {
+            return;
+        }
+        Doc last = docs.isEmpty() ? null : docs.get(docs.size() - 1);
+        if (last == null || OLDEST_FIRST.compare(last.snapshot(), snapshot) < 0) {
+            append(snapshot);
+            return;
+        }
+        // 重新发布的旧文章会破坏编号的时间顺序，此时整体重排
+        List<ArticleSnapshot> snapshots = liveSnapshots();
+        snapshots.add(snapshot);
+        load(snapshots);
+    }
+
+    private void append(ArticleSnapshot snapshot) {
+        docs.add(null);
+        index(docs.size() - 1, snapshot);
+    }
+
+    private void index(int doc, ArticleSnapshot snapshot) {
+        Doc d = Doc.of(snapshot);
+        docs.set(doc, d);
+        docByArticle.put(snapshot.id(), doc);
+        live.set(doc);
+        if (snapshot.category() != null) {
+            byCategory.computeIfAbsent(snapshot.category(), key -> new BitSet()).set(doc);
+        }
+        for (String tag : d.tags()) {
+            byTag.computeIfAbsent(tag, key -> new BitSet()).set(doc);
+        }
+        if (snapshot.authorId() != null) {
+            byAuthor.computeIfAbsent(snapshot.authorId(), key -> new BitSet()).set(doc);
+        }
+    }
+
+    private void remove(Long articleId) {
+        Integer doc = docByArticle.remove(articleId);
+        if (doc == null) {
+            return;
+        }
+        Doc d = docs.get(doc);
+        live.clear(doc);
+        clear(byCategory, d.snapshot().category(), doc);
+        d.tags().forEach(tag -> clear(byTag, tag, doc));
+        clear(byAuthor, d.snapshot().authorId(), doc);
+    }
+
+    private List<ArticleSnapshot> liveSnapshots() {
+        return docByArticle.values().stream()
+                .map(doc -> docs.get(doc).snapshot())
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static <K> void clear(Map<K, BitSet> bitsets, K key, int doc) {
+        if (key == null) {
+            return;
+        }
+        BitSet bits = bitsets.get(key);
+        if (bits != null) {
+            bits.clear(doc);
+            if (bits.isEmpty()) {
+                bitsets.remove(key);
+            }
+        }
+    }
+
+    /**
+     * 按计数倒序取前 limit 项
+     */
+    private static <K extends Comparable<K>> Map<K, Long> top(Map<K, Long> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<K, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+}
@@ -0,0 +1,72 @@
+package com.smile.blue_blog.service.index;
+
+import com.smile.blue_blog.dto.ArticleSnapshot;
+import com.smile.blue_blog.repository.ArticleRepository;
+import com.smile.blue_blog.repository.ArticleTagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 将历史文章的逗号分隔 tags 字段迁移到 article_tags 表
+ *
+ * 默认只在关联表为空时执行；设置 blog.article-tags.backfill=always 可强制全量重写
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleTagBackfillJob implements ApplicationRunner {
+
+    private final ArticleRepository articleRepository;
+    private final ArticleTagRepository articleTagRepository;
+    private final ArticleTagSynchronizer articleTagSynchronizer;
+    private final ArticleTagStatistics articleTagStatistics;
+
+    @Value("${blog.article-tags.backfill:auto}")
+    private String mode;
+
+    @Value("${blog.article-tags.backfill-batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if ("never".equalsIgnoreCase(mode)) {
+            return;
+        }
+        if (!"always".equalsIgnoreCase(mode) && articleTagRepository.count() > 0) {
+            return;
+        }
+        backfill();
+    }
+
+    /**
+     * 按主键顺序分批回填，每批独立事务，可重复执行
+     */
+    public void backfill() {
+        System.out.println("=== 开始回填 article_tags ===");
+        long start = System.currentTimeMillis();
+        long lastId = 0;
+        int articles = 0;
+        int tags = 0;
+
+        List<ArticleSnapshot> batch;
+        do {
+            batch = articleRepository.findSnapshotsAfterId(lastId, PageRequest.of(0, batchSize));
+            if (!batch.isEmpty()) {
+                tags += articleTagSynchronizer.replaceTags(batch);
+                articles += batch.size();
+                lastId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == batchSize);
+
+        System.out.println("article_tags 回填完成，文章数: " + articles + "，标签记录数: " + tags
+                + "，耗时: " + (System.currentTimeMillis() - start) + "ms");
+
+        // 标签统计在回填前已按旧数据构建，需要重新统计
+        articleTagStatistics.rebuild();
+    }
+}
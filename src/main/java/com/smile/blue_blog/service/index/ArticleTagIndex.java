@@ -0,0 +1,189 @@
+package com.smile.blue_blog.service.index;
+
+import com.smile.blue_blog.dto.ArticleSnapshot;
+import com.smile.blue_blog.entity.Article;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import com.smile.blue_blog.repository.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 已发布文章的标签倒排索引：标签 -> 按创建时间倒序排列的文章ID
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleTagIndex {
+
+    private static final Comparator<Posting> NEWEST_FIRST = Comparator
+            .comparing(Posting::createTime, Comparator.reverseOrder())
+            .thenComparing(Posting::id, Comparator.reverseOrder());
+
+    private final ArticleRepository articleRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ArticleSnapshot> indexed = new HashMap<>();
+    private final Map<String, NavigableSet<Posting>> byTag = new HashMap<>();
+    private final Map<String, NavigableSet<Posting>> byCategoryAndTag = new HashMap<>();
+
+    /**
+     * 启动时从数据库加载已发布文章（只查询索引字段，不读取正文）
+     */
+    @PostConstruct
+    public void rebuild() {
+        List<ArticleSnapshot> snapshots = articleRepository.findSnapshotsByStatus(Article.STATUS_PUBLISHED);
+
+        lock.writeLock().lock();
+        try {
+            indexed.clear();
+            byTag.clear();
+            byCategoryAndTag.clear();
+            snapshots.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("标签索引构建完成，已索引文章数: " + snapshots.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            remove(event.articleId());
+            if (event.after() != null && event.after().isPublished()) {
+                add(event.after());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按标签（可选分类）分页查询文章ID
+     */
+    public PostingPage find(String category, String tag, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<Posting> postings = category != null
+                    ? byCategoryAndTag.get(categoryTagKey(category, tag))
+                    : byTag.get(tag);
+            if (postings == null) {
+                return new PostingPage(List.of(), 0);
+            }
+
+            List<Long> ids = new ArrayList<>(Math.min(limit, postings.size()));
+            Iterator<Posting> iterator = postings.iterator();
+            for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (ids.size() < limit && iterator.hasNext()) {
+                ids.add(iterator.next().id());
+            }
+            return new PostingPage(ids, postings.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按标签（可选分类）查询位于游标 (createTime, id) 之后的文章ID，游标为空时从头开始
+     */
+    public List<Long> findAfter(String category, String tag, LocalDateTime createTime, Long id, int limit) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<Posting> postings = category != null
+                    ? byCategoryAndTag.get(categoryTagKey(category, tag))
+                    : byTag.get(tag);
+            if (postings == null) {
+                return List.of();
+            }
+
+            Iterable<Posting> tail = createTime != null
+                    ? postings.tailSet(new Posting(createTime, id), false)
+                    : postings;
+            List<Long> ids = new ArrayList<>(Math.min(limit, postings.size()));
+            for (Posting posting : tail) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                ids.add(posting.id());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按标签（可选分类）统计文章数量
+     */
+    public long count(String category, String tag) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<Posting> postings = category != null
+                    ? byCategoryAndTag.get(categoryTagKey(category, tag))
+                    : byTag.get(tag);
+            return postings == null ? 0 : postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(ArticleSnapshot snapshot) {
+        if (snapshot.createTime() == null) {
+            return;
+        }
+        Posting posting = new Posting(snapshot.createTime(), snapshot.id());
+        indexed.put(snapshot.id(), snapshot);
+        for (String tag : snapshot.tagList()) {
+            byTag.computeIfAbsent(tag, key -> new TreeSet<>(NEWEST_FIRST)).add(posting);
+            if (snapshot.category() != null) {
+                byCategoryAndTag.computeIfAbsent(categoryTagKey(snapshot.category(), tag),
+                        key -> new TreeSet<>(NEWEST_FIRST)).add(posting);
+            }
+        }
+    }
+
+    private void remove(Long articleId) {
+        ArticleSnapshot old = indexed.remove(articleId);
+        if (old == null) {
+            return;
+        }
+        Posting posting = new Posting(old.createTime(), old.id());
+        for (String tag : old.tagList()) {
+            removePosting(byTag, tag, posting);
+            if (old.category() != null) {
+                removePosting(byCategoryAndTag, categoryTagKey(old.category(), tag), posting);
+            }
+        }
+    }
+
+    private static void removePosting(Map<String, NavigableSet<Posting>> postingsByKey, String key, Posting posting) {
+        NavigableSet<Posting> postings = postingsByKey.get(key);
+        if (postings != null) {
+            postings.remove(posting);
+            if (postings.isEmpty()) {
+                postingsByKey.remove(key);
+            }
+        }
+    }
+
+    private static String categoryTagKey(String category, String tag) {
+        return category + '\u0000' + tag;
+    }
+
+    private record Posting(LocalDateTime createTime, Long id) {
+    }
+
+    /**
+     * 一页文章ID及命中总数
+     */
+    public record PostingPage(List<Long> ids, long total) {
+    }
+}
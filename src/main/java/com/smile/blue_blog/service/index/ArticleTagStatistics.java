@@ -0,0 +1,157 @@
+package com.smile.blue_blog.service.index;
+
+import com.smile.blue_blog.dto.ArticleSnapshot;
+import com.smile.blue_blog.dto.TagCount;
+import com.smile.blue_blog.dto.TagGroupCount;
+import com.smile.blue_blog.entity.Article;
+import com.smile.blue_blog.entity.ArticleTag;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import com.smile.blue_blog.repository.ArticleTagRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * 标签统计：全站（已发布）、分类（已发布）、作者（全部状态）三个维度的标签文章数，
+ * 启动时由 article_tags 分组统计构建，之后根据文章变更前后的快照增量维护
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleTagStatistics {
+
+    private static final Comparator<TagCount> MOST_USED_FIRST = Comparator
+            .comparingLong(TagCount::count).reversed()
+            .thenComparing(TagCount::tag);
+
+    private final ArticleTagRepository articleTagRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Long> published = new TreeMap<>();
+    private final Map<String, NavigableMap<String, Long>> publishedByCategory = new HashMap<>();
+    private final Map<Long, NavigableMap<String, Long>> byAuthor = new HashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        List<TagGroupCount> groups = articleTagRepository.countGroupedByTag();
+
+        lock.writeLock().lock();
+        try {
+            published.clear();
+            publishedByCategory.clear();
+            byAuthor.clear();
+            for (TagGroupCount group : groups) {
+                apply(group.tag(), group.status(), group.category(), group.authorId(), group.count());
+            }
+            System.out.println("标签统计构建完成，已发布文章标签数: " + published.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(event.before(), -1);
+            apply(event.after(), 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ========== 查询 ==========
+
+    /**
+     * 已发布文章的标签（按名称排序）
+     */
+    public List<String> publishedTags() {
+        return names(() -> published);
+    }
+
+    public List<String> publishedTags(String category) {
+        return names(() -> publishedByCategory.get(category));
+    }
+
+    /**
+     * 作者全部文章（含草稿）的标签
+     */
+    public List<String> authorTags(Long authorId) {
+        return names(() -> byAuthor.get(authorId));
+    }
+
+    /**
+     * 已发布文章的标签云（按文章数倒序），category 为空时统计全站
+     */
+    public List<TagCount> publishedTagCounts(String category) {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> counts = category != null ? publishedByCategory.get(category) : published;
+            if (counts == null) {
+                return List.of();
+            }
+            List<TagCount> result = new ArrayList<>(counts.size());
+            counts.forEach((tag, count) -> result.add(new TagCount(tag, count)));
+            result.sort(MOST_USED_FIRST);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== 维护 ==========
+
+    private List<String> names(Supplier<NavigableMap<String, Long>> counts) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<String, Long> map = counts.get();
+            return map == null ? List.of() : new ArrayList<>(map.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(ArticleSnapshot snapshot, long delta) {
+        if (snapshot == null) {
+            return;
+        }
+        for (String tag : snapshot.tagList()) {
+            // 与 article_tags 保持一致：超长标签不入库，也不计数
+            if (tag.length() <= ArticleTag.TAG_MAX_LENGTH) {
+                apply(tag, snapshot.status(), snapshot.category(), snapshot.authorId(), delta);
+            }
+        }
+    }
+
+    private void apply(String tag, Integer status, String category, Long authorId, long delta) {
+        if (Objects.equals(status, Article.STATUS_PUBLISHED)) {
+            add(published, tag, delta);
+            if (category != null) {
+                add(publishedByCategory.computeIfAbsent(category, key -> new TreeMap<>()), tag, delta);
+                removeIfEmpty(publishedByCategory, category);
+            }
+        }
+        if (authorId != null) {
+            add(byAuthor.computeIfAbsent(authorId, key -> new TreeMap<>()), tag, delta);
+            removeIfEmpty(byAuthor, authorId);
+        }
+    }
+
+    private static void add(Map<String, Long> counts, String tag, long delta) {
+        counts.compute(tag, (key, count) -> {
+            long updated = (count == null ? 0 : count) + delta;
+            return updated > 0 ? updated : null;
+        });
+    }
+
+    private static <K> void removeIfEmpty(Map<K, NavigableMap<String, Long>> maps, K key) {
+        if (maps.get(key).isEmpty()) {
+            maps.remove(key);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.smile.blue_blog.service.index;
+
+import com.smile.blue_blog.dto.ArticleSnapshot;
+import com.smile.blue_blog.entity.ArticleTag;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import com.smile.blue_blog.repository.ArticleTagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 根据文章的 tags 字段维护 article_tags 关联表
+ */
+@Component
+@RequiredArgsConstructor
+public class ArticleTagSynchronizer {
+
+    private final ArticleTagRepository articleTagRepository;
+
+    /**
+     * 与文章写入处于同一事务中，保证关联表与文章一致
+     */
+    @EventListener
+    @Transactional
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.isDeleted()) {
+            articleTagRepository.deleteByArticleIdIn(List.of(event.articleId()));
+        } else if (event.before() == null) {
+            // 新文章没有旧记录，省掉一次删除
+            articleTagRepository.saveAll(rowsOf(List.of(event.after())));
+        } else {
+            replaceTags(List.of(event.after()));
+        }
+    }
+
+    /**
+     * 重写一批文章的标签关联记录
+     */
+    @Transactional
+    public int replaceTags(List<ArticleSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+        articleTagRepository.deleteByArticleIdIn(snapshots.stream().map(ArticleSnapshot::id).toList());
+
+        List<ArticleTag> rows = rowsOf(snapshots);
+        articleTagRepository.saveAll(rows);
+        return rows.size();
+    }
+
+    private static List<ArticleTag> rowsOf(List<ArticleSnapshot> snapshots) {
+        List<ArticleTag> rows = new ArrayList<>();
+        for (ArticleSnapshot snapshot : snapshots) {
+            for (String tag : snapshot.tagList()) {
+                if (tag.length() > ArticleTag.TAG_MAX_LENGTH) {
+                    System.out.println("标签过长，跳过: articleId=" + snapshot.id() + ", tag=" + tag);
+                    continue;
+                }
+                rows.add(new ArticleTag(snapshot.id(), tag, snapshot.status(), snapshot.category(),
+                        snapshot.authorId(), snapshot.createTime()));
+            }
+        }
+        return rows;
+    }
+}
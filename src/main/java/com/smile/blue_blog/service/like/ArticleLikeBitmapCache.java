@@ -0,0 +1,126 @@
+package com.smile.blue_blog.service.like;
+
+import com.smile.blue_blog.repository.ArticleLikeRepository;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 热点文章的点赞用户位图（LRU），判断"是否已点赞"和读取点赞数都不访问数据库。
+ * 点赞、取消点赞及其提交都会递增文章所在分段的版本号；加载期间版本号变化说明读到的可能是旧数据，不放入缓存
+ */
+@Component
+public class ArticleLikeBitmapCache {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final ArticleLikeRepository articleLikeRepository;
+    private final Map<Long, Roaring64Bitmap> bitmaps;
+    /** 按文章ID分段的修改版本号 */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ArticleLikeBitmapCache(ArticleLikeRepository articleLikeRepository,
+                                  @Value("${blog.likes.bitmap-cache-size:1000}") int capacity) {
+        this.articleLikeRepository = articleLikeRepository;
+        this.bitmaps = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Roaring64Bitmap> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public boolean hasLiked(Long articleId, Long userId) {
+        Roaring64Bitmap bitmap = bitmapFor(articleId);
+        synchronized (bitmap) {
+            return bitmap.contains(userId);
+        }
+    }
+
+    public long count(Long articleId) {
+        Roaring64Bitmap bitmap = bitmapFor(articleId);
+        synchronized (bitmap) {
+            return bitmap.getLongCardinality();
+        }
+    }
+
+    /**
+     * 记录点赞（位图未加载时忽略，下次访问会从数据库加载）
+     */
+    public void add(Long articleId, Long userId) {
+        changed(articleId);
+        Roaring64Bitmap bitmap = cached(articleId);
+        if (bitmap != null) {
+            synchronized (bitmap) {
+                bitmap.addLong(userId);
+            }
+        }
+    }
+
+    public void remove(Long articleId, Long userId) {
+        changed(articleId);
+        Roaring64Bitmap bitmap = cached(articleId);
+        if (bitmap != null) {
+            synchronized (bitmap) {
+                bitmap.removeLong(userId);
+            }
+        }
+    }
+
+    /**
+     * 点赞数据已修改（写入或提交），正在进行的加载结果不再放入缓存
+     */
+    public void changed(Long articleId) {
+        generations.incrementAndGet(stripe(articleId));
+    }
+
+    public boolean isCached(Long articleId) {
+        return cached(articleId) != null;
+    }
+
+    public void evict(Long articleId) {
+        changed(articleId);
+        synchronized (bitmaps) {
+            bitmaps.remove(articleId);
+        }
+    }
+
+    private Roaring64Bitmap cached(Long articleId) {
+        synchronized (bitmaps) {
+            return bitmaps.get(articleId);
+        }
+    }
+
+    /**
+     * 未命中时在锁外查询数据库，避免加载大位图时阻塞其他文章；
+     * 加载期间有点赞写入或提交时只把结果用于本次判断，不放入缓存
+     */
+    private Roaring64Bitmap bitmapFor(Long articleId) {
+        Roaring64Bitmap bitmap = cached(articleId);
+        if (bitmap != null) {
+            return bitmap;
+        }
+
+        long generation = generations.get(stripe(articleId));
+        List<Long> userIds = articleLikeRepository.findUserIdsByArticleId(articleId);
+        Roaring64Bitmap loaded = new Roaring64Bitmap();
+        userIds.forEach(loaded::addLong);
+        loaded.runOptimize();
+
+        if (generations.get(stripe(articleId)) != generation) {
+            return loaded;
+        }
+        synchronized (bitmaps) {
+            return bitmaps.computeIfAbsent(articleId, id -> loaded);
+        }
+    }
+
+    private static int stripe(Long articleId) {
+        return (int) Math.floorMod(articleId, (long) GENERATION_STRIPES);
+    }
+}
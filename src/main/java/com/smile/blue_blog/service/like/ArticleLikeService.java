@@ -0,0 +1,104 @@
+package com.smile.blue_blog.service.like;
+
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import com.smile.blue_blog.repository.ArticleLikeRepository;
+import com.smile.blue_blog.repository.ArticleRepository;
+import com.smile.blue_blog.service.counter.ArticleCounterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 文章点赞：article_likes 去重，位图判断是否已点赞，点赞数写入计数分片
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleLikeService {
+
+    private final ArticleLikeRepository articleLikeRepository;
+    private final ArticleRepository articleRepository;
+    private final ArticleCounterService articleCounterService;
+    private final ArticleLikeBitmapCache bitmapCache;
+
+    public record LikeState(boolean liked, long likeCount) {
+    }
+
+    /**
+     * 点赞（幂等，重复点赞直接由位图返回，不访问数据库）
+     */
+    @Transactional
+    public LikeState like(Long articleId, Long userId) {
+        requireArticle(articleId);
+        if (!bitmapCache.hasLiked(articleId, userId)) {
+            if (articleLikeRepository.insertIgnore(articleId, userId) == 1) {
+                articleCounterService.add(ArticleCounterService.Delta.likes(articleId, 1));
+            }
+            bitmapCache.add(articleId, userId);
+            afterCompletion(articleId);
+        }
+        return new LikeState(true, bitmapCache.count(articleId));
+    }
+
+    /**
+     * 取消点赞（幂等）：总是尝试删除记录，不依赖位图判断，位图与数据库不一致时也能取消
+     */
+    @Transactional
+    public LikeState unlike(Long articleId, Long userId) {
+        requireArticle(articleId);
+        if (articleLikeRepository.deleteByArticleIdAndUserId(articleId, userId) == 1) {
+            articleCounterService.add(ArticleCounterService.Delta.likes(articleId, -1));
+        }
+        bitmapCache.remove(articleId, userId);
+        afterCompletion(articleId);
+        return new LikeState(false, bitmapCache.count(articleId));
+    }
+
+    public LikeState getLikeState(Long articleId, Long userId) {
+        requireArticle(articleId);
+        return new LikeState(bitmapCache.hasLiked(articleId, userId), bitmapCache.count(articleId));
+    }
+
+    /**
+     * 文章删除时清理点赞记录
+     */
+    @EventListener
+    @Transactional
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.isDeleted()) {
+            articleLikeRepository.deleteByArticleId(event.articleId());
+            bitmapCache.evict(event.articleId());
+        }
+    }
+
+    /**
+     * 位图已缓存说明文章存在（删除文章时会清掉位图），未缓存时先查库，避免为不存在的文章缓存空位图
+     */
+    private void requireArticle(Long articleId) {
+        if (!bitmapCache.isCached(articleId) && !articleRepository.existsById(articleId)) {
+            throw new RuntimeException("文章不存在");
+        }
+    }
+
+    /**
+     * 位图先于提交更新：提交后再递增一次版本号，提交前开始的加载（读不到这次写入）不会放入缓存；
+     * 事务回滚时丢弃该文章的位图，下次访问重新加载
+     */
+    private void afterCompletion(Long articleId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    bitmapCache.changed(articleId);
+                } else {
+                    bitmapCache.evict(articleId);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,168 @@
+package com.smile.blue_blog.service.render;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smile.blue_blog.dto.RenderedContent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.heading.anchor.IdGenerator;
+import org.commonmark.node.*;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Markdown → HTML 渲染：原始 HTML 一律转义、链接协议白名单过滤，代码块带 language-* 类名供前端高亮，
+ * 标题生成锚点和目录。结果按内容哈希缓存，相同内容只渲染一次
+ */
+@Component
+public class MarkdownRenderer {
+
+    private static final List<Extension> EXTENSIONS = List.of(
+            TablesExtension.create(),
+            StrikethroughExtension.create());
+
+    private final Parser parser = Parser.builder().extensions(EXTENSIONS).build();
+    private final Cache<String, RenderedContent> cache;
+
+    public MarkdownRenderer(MeterRegistry meterRegistry,
+                            @Value("${blog.markdown.cache-max-weight:16777216}") long maxWeight) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((String hash, RenderedContent rendered) -> (rendered.html().length() + rendered.toc().length()) * 2)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "markdown_render");
+    }
+
+    private record TocEntry(int level, String text, String anchor) {
+    }
+
+    /**
+     * 渲染 Markdown；内容相同（哈希相同）时直接返回缓存结果
+     */
+    public RenderedContent render(String markdown) {
+        String source = markdown != null ? markdown : "";
+        return cache.get(hash(source), hash -> render(hash, source));
+    }
+
+    /**
+     * 源文本的 SHA-256（十六进制），作为渲染结果的内容地址
+     */
+    public static String hash(String markdown) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest((markdown != null ? markdown : "").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private RenderedContent render(String hash, String markdown) {
+        Node document = parser.parse(markdown);
+
+        // 先按文档顺序为标题分配锚点，正文和目录使用同一份结果
+        Map<Node, TocEntry> headings = new IdentityHashMap<>();
+        IdGenerator idGenerator = IdGenerator.builder().defaultId("section").build();
+        document.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Heading heading) {
+                String text = textOf(heading);
+                headings.put(heading, new TocEntry(heading.getLevel(), text, idGenerator.generateId(text)));
+            }
+        });
+
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .extensions(EXTENSIONS)
+                .escapeHtml(true)
+                .sanitizeUrls(true)
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    if (node instanceof Heading) {
+                        attributes.put("id", headings.get(node).anchor());
+                    } else if (node instanceof Link) {
+                        attributes.put("rel", "nofollow noopener");
+                    } else if (node instanceof FencedCodeBlock code && "pre".equals(tagName)) {
+                        attributes.put("class", "code-block");
+                        String language = language(code);
+                        if (!language.isEmpty()) {
+                            attributes.put("data-lang", language);
+                        }
+                    }
+                })
+                .build();
+
+        return new RenderedContent(hash, renderer.render(document), renderToc(document, headings));
+    }
+
+    /**
+     * 目录：按文档顺序输出的扁平列表，层级通过 toc-h{n} 类名体现
+     */
+    private static String renderToc(Node document, Map<Node, TocEntry> headings) {
+        if (headings.isEmpty()) {
+            return "";
+        }
+        StringBuilder toc = new StringBuilder("<ul class=\"toc\">\n");
+        document.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Heading node) {
+                TocEntry heading = headings.get(node);
+                toc.append("<li class=\"toc-h").append(heading.level()).append("\"><a href=\"#")
+                        .append(escape(heading.anchor())).append("\">")
+                        .append(escape(heading.text())).append("</a></li>\n");
+            }
+        });
+        return toc.append("</ul>\n").toString();
+    }
+
+    private static String textOf(Node node) {
+        StringBuilder text = new StringBuilder();
+        node.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text literal) {
+                text.append(literal.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                text.append(code.getLiteral());
+            }
+        });
+        return text.toString().trim();
+    }
+
+    private static String language(FencedCodeBlock code) {
+        String info = code.getInfo();
+        if (info == null || info.isBlank()) {
+            return "";
+        }
+        return info.trim().split("\\s+", 2)[0];
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,413 @@
+package com.smile.blue_blog.service.render;
+
+/**
+ * Markdown 单遍扫描：一次遍历同时得到纯文本摘要、字数、字符数和预计阅读时间。
+ * 按行识别块结构（代码围栏、缩进代码块、标题、引用、列表、分隔线、表格分隔行），行内去掉强调符号、链接地址和 HTML 标签；
+ * 代码块（围栏和缩进 4 格的代码块）不计入摘要和字数。缩进代码块不能打断段落，列表内的缩进内容仍按正文处理。
+ * 除摘要本身外不分配额外对象
+ */
+public final class MarkdownScanner {
+
+    public static final int DEFAULT_SUMMARY_LENGTH = 200;
+
+    /** 中文阅读速度（字/分钟）与英文阅读速度（词/分钟） */
+    private static final int CJK_CHARS_PER_MINUTE = 300;
+    private static final int WORDS_PER_MINUTE = 200;
+
+    /**
+     * wordCount：中日韩文字每字计一词，连续的字母数字计一词；charCount：正文中的非空白字符数
+     */
+    public record Stats(String summary, int wordCount, int charCount, int readingMinutes) {
+    }
+
+    private final String text;
+    private final int summaryLength;
+    private final StringBuilder summary;
+
+    private boolean truncated;
+    private boolean pendingSpace;
+    private boolean pendingLineBreak;
+    private boolean inWord;
+    private int cjkChars;
+    private int words;
+    private int chars;
+
+    /** 当前所在代码围栏的字符（` 或 ~），0 表示不在代码块中 */
+    private char fence;
+    private int fenceLength;
+    /** 上一行是段落正文（缩进行是段落的延续而不是代码） */
+    private boolean paragraph;
+    /** 处于列表中（列表项内缩进的内容不是代码） */
+    private boolean inList;
+
+    private MarkdownScanner(String text, int summaryLength) {
+        this.text = text;
+        this.summaryLength = summaryLength;
+        this.summary = new StringBuilder(Math.min(summaryLength, text.length()) + 3);
+    }
+
+    public static Stats scan(String markdown) {
+        return scan(markdown, DEFAULT_SUMMARY_LENGTH);
+    }
+
+    public static Stats scan(String markdown, int summaryLength) {
+        return new MarkdownScanner(markdown != null ? markdown : "", summaryLength).run();
+    }
+
+    private Stats run() {
+        int length = text.length();
+        int start = 0;
+        while (start < length) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                end = length;
+            }
+            scanLine(start, end > start && text.charAt(end - 1) == '\r' ? end - 1 : end);
+            start = end + 1;
+        }
+
+        if (truncated) {
+            summary.append("...");
+        }
+        int wordCount = cjkChars + words;
+        int readingMinutes = chars == 0 ? 0
+                : Math.max(1, (int) Math.ceil((double) cjkChars / CJK_CHARS_PER_MINUTE + (double) words / WORDS_PER_MINUTE));
+        return new Stats(summary.toString(), wordCount, chars, readingMinutes);
+    }
+
+    // ========== 块结构 ==========
+
+    private void scanLine(int i, int end) {
+        int indent = 0;
+        while (i < end && indent < 4) {
+            char c = text.charAt(i);
+            if (c == ' ') {
+                indent++;
+            } else if (c == '\t') {
+                indent = 4;
+            } else {
+                break;
+            }
+            i++;
+        }
+
+        if (fence != 0) {
+            // 代码块内只需要找到结束围栏
+            if (indent < 4 && run(i, end, fence) >= fenceLength && isBlank(i + run(i, end, fence), end)) {
+                fence = 0;
+            }
+            return;
+        }
+        if (isBlank(i, end)) {
+            paragraph = false;
+            space();
+            return;
+        }
+        if (indent >= 4 && !paragraph && !inList) {
+            // 缩进代码块
+            space();
+            return;
+        }
+        if (indent == 0) {
+            inList = false;
+        }
+
+        char c = text.charAt(i);
+        if (indent < 4 && (c == '`' || c == '~')) {
+            int n = run(i, end, c);
+            if (n >= 3 && (c == '~' || !contains(i + n, end, '`'))) {
+                fence = c;
+                fenceLength = n;
+                paragraph = false;
+                space();
+                return;
+            }
+        }
+
+        // 引用和列表可以嵌套：> - > 1. 文本
+        while (true) {
+            while (i < end && text.charAt(i) == ' ') {
+                i++;
+            }
+            if (i >= end) {
+                space();
+                return;
+            }
+            c = text.charAt(i);
+            if (c == '>') {
+                i++;
+            } else if ((c == '-' || c == '*' || c == '+') && i + 1 < end && text.charAt(i + 1) == ' '
+                    && !isThematicBreak(i, end)) {
+                i += 2;
+                inList = true;
+            } else if (c >= '0' && c <= '9') {
+                int j = i;
+                while (j < end && j - i < 9 && text.charAt(j) >= '0' && text.charAt(j) <= '9') {
+                    j++;
+                }
+                if (j + 1 < end && (text.charAt(j) == '.' || text.charAt(j) == ')') && text.charAt(j + 1) == ' ') {
+                    i = j + 2;
+                    inList = true;
+                } else {
+                    break;
+                }
+            } else {
+                break;
+            }
+        }
+
+        boolean heading = false;
+        if (c == '#') {
+            int n = run(i, end, '#');
+            if (n <= 6 && (i + n == end || text.charAt(i + n) == ' ')) {
+                i += n;
+                heading = true;
+            }
+        } else if ((c == '-' || c == '*' || c == '_' || c == '=') && isThematicBreak(i, end)) {
+            // 分隔线或 Setext 标题下划线
+            paragraph = false;
+            space();
+            return;
+        } else if ((c == '|' || c == ':' || c == '-') && isTableDelimiter(i, end)) {
+            space();
+            return;
+        }
+
+        inline(i, end);
+        paragraph = !heading;
+        space();
+    }
+
+    private int run(int i, int end, char c) {
+        int n = 0;
+        while (i + n < end && text.charAt(i + n) == c) {
+            n++;
+        }
+        return n;
+    }
+
+    private boolean contains(int i, int end, char c) {
+        for (; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isBlank(int i, int end) {
+        for (; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 整行由同一个符号（可夹空格）组成且至少 3 个
+     */
+    private boolean isThematicBreak(int i, int end) {
+        char marker = text.charAt(i);
+        int count = 0;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == marker) {
+                count++;
+            } else if (c != ' ' && c != '\t') {
+                return false;
+            }
+        }
+        return count >= 3;
+    }
+
+    /**
+     * 表格分隔行：只包含 | : - 和空格，且至少有一个 -
+     */
+    private boolean isTableDelimiter(int i, int end) {
+        boolean dash = false;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '-') {
+                dash = true;
+            } else if (c != '|' && c != ':' && c != ' ' && c != '\t') {
+                return false;
+            }
+        }
+        return dash;
+    }
+
+    // ========== 行内 ==========
+
+    private void inline(int i, int end) {
+        while (i < end) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> {
+                    if (i + 1 < end) {
+                        emit(text.charAt(i + 1));
+                    }
+                    i += 2;
+                }
+                case '*', '`', '~' -> i++;
+                case '_' -> {
+                    // 只去掉词边界上的下划线，保留 snake_case 这类标识符
+                    boolean inside = i > 0 && i + 1 < end
+                            && Character.isLetterOrDigit(text.charAt(i - 1)) && Character.isLetterOrDigit(text.charAt(i + 1));
+                    if (inside) {
+                        emit(c);
+                    }
+                    i++;
+                }
+                case '!' -> {
+                    if (i + 1 < end && text.charAt(i + 1) == '[') {
+                        i++;
+                    } else {
+                        emit(c);
+                        i++;
+                    }
+                }
+                case '[' -> i++;
+                case ']' -> {
+                    // [文本](地址) 与 [文本][引用] 只保留文本
+                    if (i + 1 < end && (text.charAt(i + 1) == '(' || text.charAt(i + 1) == '[')) {
+                        i = skipBracket(i + 1, end);
+                    } else {
+                        i++;
+                    }
+                }
+                case '<' -> {
+                    int close = i + 1 < end && isTagStart(text.charAt(i + 1)) ? text.indexOf('>', i + 1) : -1;
+                    if (close >= 0 && close < end) {
+                        i = close + 1;
+                    } else {
+                        emit(c);
+                        i++;
+                    }
+                }
+                case '|' -> {
+                    space();
+                    i++;
+                }
+                default -> {
+                    emit(c);
+                    i++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 跳过从 open 开始的一对括号（允许嵌套），返回右括号之后的位置；未闭合时只跳过左括号
+     */
+    private int skipBracket(int open, int end) {
+        char left = text.charAt(open);
+        char right = left == '(' ? ')' : ']';
+        int depth = 0;
+        for (int i = open; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == left) {
+                depth++;
+            } else if (c == right && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return open + 1;
+    }
+
+    private static boolean isTagStart(char c) {
+        return c == '/' || c == '!' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    // ========== 输出 ==========
+
+    private void emit(char c) {
+        if (c < 128) {
+            emitAscii(c);
+            return;
+        }
+        if (Character.isWhitespace(c)) {
+            if (summary.length() > 0) {
+                pendingSpace = true;
+            }
+            inWord = false;
+            return;
+        }
+        chars++;
+        boolean cjk = isCjk(c);
+        if (cjk) {
+            cjkChars++;
+            inWord = false;
+        } else if (Character.isLetterOrDigit(c)) {
+            if (!inWord) {
+                words++;
+                inWord = true;
+            }
+        } else {
+            inWord = false;
+        }
+        append(c, cjk);
+    }
+
+    /**
+     * ASCII 快速路径，避免逐字符查 Unicode 属性表
+     */
+    private void emitAscii(char c) {
+        if (c <= ' ') {
+            if (summary.length() > 0) {
+                pendingSpace = true;
+            }
+            inWord = false;
+            return;
+        }
+        chars++;
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+            if (!inWord) {
+                words++;
+                inWord = true;
+            }
+        } else {
+            inWord = false;
+        }
+        append(c, false);
+    }
+
+    /**
+     * 换行、块边界、表格单元格边界
+     */
+    private void space() {
+        inWord = false;
+        if (summary.length() > 0 && !pendingSpace) {
+            pendingSpace = true;
+            pendingLineBreak = true;
+        }
+    }
+
+    private void append(char c, boolean cjk) {
+        if (truncated) {
+            return;
+        }
+        // 中文在换行处不补空格，行内原有的空格照常保留
+        boolean space = pendingSpace && !(pendingLineBreak && (cjk || isCjk(summary.charAt(summary.length() - 1))));
+        pendingSpace = false;
+        pendingLineBreak = false;
+        if (summary.length() + (space ? 2 : 1) > summaryLength) {
+            truncated = true;
+            // 不在代理对中间截断
+            if (summary.length() > 0 && Character.isHighSurrogate(summary.charAt(summary.length() - 1))) {
+                summary.setLength(summary.length() - 1);
+            }
+            return;
+        }
+        if (space) {
+            summary.append(' ');
+        }
+        summary.append(c);
+    }
+
+    private static boolean isCjk(char c) {
+        return Character.isIdeographic(c)
+                || (c >= '\u3040' && c <= '\u30FF')   // 平假名、片假名
+                || (c >= '\uAC00' && c <= '\uD7AF');  // 韩文音节
+    }
+}
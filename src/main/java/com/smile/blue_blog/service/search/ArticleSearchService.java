@@ -0,0 +1,349 @@
+package com.smile.blue_blog.service.search;
+
+import com.smile.blue_blog.entity.Article;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import com.smile.blue_blog.repository.ArticleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.*;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于 Lucene 的已发布文章全文索引（BM25 排序，索引持久化到本地目录）
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleSearchService implements ApplicationRunner {
+
+    /** 索引结构或分词方式变化时递增，启动时发现版本（含用户词典指纹）不一致会全量重建 */
+    private static final String SCHEMA_VERSION = "3";
+    private static final String COMMIT_SCHEMA_VERSION = "schemaVersion";
+    private static final String COMMIT_LAST_UPDATE = "lastUpdateTime";
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_TAGS = "tags";
+    private static final String FIELD_CREATE_TIME = "createTime";
+
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    /** 每页最多返回的条数 */
+    public static final int MAX_PAGE_SIZE = 100;
+    /** 可翻到的最大结果深度，更深的页返回空列表（只给出命中总数） */
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final ArticleRepository articleRepository;
+    private final UserDictionary userDictionary;
+
+    @Value("${blog.search.index-dir:data/search-index}")
+    private String indexDir;
+
+    private Analyzer analyzer;
+    private String schemaVersion;
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private volatile boolean ready;
+    private volatile LocalDateTime lastUpdateTime;
+    /** 重建与提交互斥；期间有磁盘和数据库 IO，不用 synchronized，虚拟线程等待时不会钉住载体线程 */
+    private final ReentrantLock commitLock = new ReentrantLock();
+    /** 有尚未提交（fsync）的变更 */
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @PostConstruct
+    public void open() throws IOException {
+        analyzer = new BlogAnalyzer(userDictionary);
+        schemaVersion = SCHEMA_VERSION + "-" + userDictionary.fingerprint();
+        directory = FSDirectory.open(Path.of(indexDir));
+        IndexWriterConfig config = new IndexWriterConfig(new BlogAnalyzer(userDictionary, true))
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setSimilarity(new BM25Similarity());
+        indexWriter = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(indexWriter, new SearcherFactory() {
+            @Override
+            public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                searcher.setSimilarity(new BM25Similarity());
+                return searcher;
+            }
+        });
+    }
+
+    /**
+     * 启动完成后同步索引：版本不一致则全量重建，否则补齐上次提交之后更新过的文章，
+     * 再按ID集合与数据库核对（停机期间删除的文章不会出现在更新列表里）
+     */
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Map<String, String> commitData = new HashMap<>();
+        Iterable<Map.Entry<String, String>> liveCommitData = indexWriter.getLiveCommitData();
+        if (liveCommitData != null) {
+            liveCommitData.forEach(entry -> commitData.put(entry.getKey(), entry.getValue()));
+        }
+
+        if (!schemaVersion.equals(commitData.get(COMMIT_SCHEMA_VERSION))) {
+            rebuild();
+        } else {
+            String lastUpdate = commitData.get(COMMIT_LAST_UPDATE);
+            lastUpdateTime = lastUpdate != null ? LocalDateTime.parse(lastUpdate) : null;
+            if (lastUpdateTime != null) {
+                List<Article> changed = articleRepository.findByUpdateTimeGreaterThanEqual(lastUpdateTime);
+                for (Article article : changed) {
+                    index(article);
+                }
+                System.out.println("搜索索引增量同步完成，文章数: " + changed.size());
+            }
+            reconcile();
+            commit();
+        }
+        ready = true;
+    }
+
+    /**
+     * 从数据库全量重建索引
+     */
+    public void rebuild() throws IOException {
+        commitLock.lock();
+        try {
+            doRebuild();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void doRebuild() throws IOException {
+        System.out.println("=== 开始重建搜索索引 ===");
+        long start = System.currentTimeMillis();
+        indexWriter.deleteAll();
+
+        long lastId = 0;
+        int total = 0;
+        List<Article> batch;
+        do {
+            batch = articleRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                    Article.STATUS_PUBLISHED, lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Article article : batch) {
+                index(article);
+                lastId = article.getId();
+            }
+            total += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        commit();
+        System.out.println("搜索索引重建完成，文章数: " + total + "，耗时: " + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    /**
+     * 删除索引中已不在数据库（或已不是发布状态）的文章，补上数据库中有而索引中缺失的文章
+     */
+    private void reconcile() throws IOException {
+        Set<Long> published = new HashSet<>(articleRepository.findIdsByStatus(Article.STATUS_PUBLISHED));
+        Set<Long> indexed = new HashSet<>();
+        int removed = 0;
+        try (DirectoryReader reader = DirectoryReader.open(indexWriter)) {
+            for (LeafReaderContext leaf : reader.leaves()) {
+                Bits liveDocs = leaf.reader().getLiveDocs();
+                StoredFields storedFields = leaf.reader().storedFields();
+                for (int doc = 0; doc < leaf.reader().maxDoc(); doc++) {
+                    if (liveDocs != null && !liveDocs.get(doc)) {
+                        continue;
+                    }
+                    String id = storedFields.document(doc, Set.of(FIELD_ID)).get(FIELD_ID);
+                    Long articleId = Long.valueOf(id);
+                    if (published.contains(articleId)) {
+                        indexed.add(articleId);
+                    } else {
+                        indexWriter.deleteDocuments(new Term(FIELD_ID, id));
+                        removed++;
+                    }
+                }
+            }
+        }
+
+        published.removeAll(indexed);
+        List<Article> missing = published.isEmpty() ? List.of() : articleRepository.findAllById(published);
+        for (Article article : missing) {
+            index(article);
+        }
+        if (removed > 0 || !missing.isEmpty()) {
+            System.out.println("搜索索引核对完成，移除: " + removed + "，补充: " + missing.size());
+        }
+    }
+
+    /**
+     * 文章变更只刷新近实时搜索器，立即可搜；持久化提交交给 scheduledCommit 合并执行，
+     * 批量导入时不会每篇文章 fsync 一次。未提交的变更在重启时由增量同步和核对补回
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        try {
+            if (event.isDeleted()) {
+                indexWriter.deleteDocuments(new Term(FIELD_ID, event.articleId().toString()));
+            } else {
+                index(event.article());
+            }
+            dirty.set(true);
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            System.err.println("搜索索引更新失败: articleId=" + event.articleId() + ", " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.search.commit-interval-ms:5000}")
+    public void scheduledCommit() {
+        // 关闭时由 close() 做最后一次提交
+        if (!indexWriter.isOpen() || !dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            commit();
+        } catch (IOException e) {
+            dirty.set(true);
+            System.err.println("搜索索引提交失败: " + e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 搜索已发布文章，返回一页文章ID及命中总数。
+     * size 限制在 1..MAX_PAGE_SIZE，只取前 MAX_RESULT_WINDOW 条结果分页
+     */
+    public SearchHits search(String keyword, SearchSort sort, int page, int size) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer,
+                Map.of(FIELD_TITLE, 3f, FIELD_TAGS, 2f, FIELD_CONTENT, 1f));
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        Query query = parser.parse(keyword.trim());
+        if (query == null) {
+            return new SearchHits(List.of(), 0);
+        }
+
+        Sort luceneSort = sort == SearchSort.RELEVANCE
+                ? Sort.RELEVANCE
+                : new Sort(new SortField(FIELD_CREATE_TIME, SortField.Type.LONG, true), SortField.FIELD_SCORE);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+                long offset = (long) Math.max(page, 0) * pageSize;
+                if (offset >= MAX_RESULT_WINDOW) {
+                    return new SearchHits(List.of(), searcher.count(query));
+                }
+                int from = (int) offset;
+                int end = Math.min(from + pageSize, MAX_RESULT_WINDOW);
+                TopDocs topDocs = searcher.search(query, end, luceneSort);
+                StoredFields storedFields = searcher.storedFields();
+
+                int to = Math.min(end, topDocs.scoreDocs.length);
+                List<Long> ids = new ArrayList<>(Math.max(0, to - from));
+                for (int i = from; i < to; i++) {
+                    ids.add(Long.valueOf(storedFields.document(topDocs.scoreDocs[i].doc).get(FIELD_ID)));
+                }
+                return new SearchHits(ids, searcher.count(query));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("搜索失败", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (indexWriter != null && indexWriter.isOpen()) {
+            commit();
+            searcherManager.close();
+            indexWriter.close();
+        }
+        directory.close();
+    }
+
+    private void index(Article article) throws IOException {
+        Term idTerm = new Term(FIELD_ID, article.getId().toString());
+        if (article.getStatus() == null || article.getStatus() != Article.STATUS_PUBLISHED) {
+            indexWriter.deleteDocuments(idTerm);
+        } else {
+            indexWriter.updateDocument(idTerm, toDocument(article));
+        }
+        if (article.getUpdateTime() != null
+                && (lastUpdateTime == null || article.getUpdateTime().isAfter(lastUpdateTime))) {
+            lastUpdateTime = article.getUpdateTime();
+        }
+    }
+
+    private Document toDocument(Article article) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, article.getId().toString(), Field.Store.YES));
+        document.add(new TextField(FIELD_TITLE, nullToEmpty(article.getTitle()), Field.Store.NO));
+        document.add(new TextField(FIELD_CONTENT, nullToEmpty(article.getContent()), Field.Store.NO));
+        document.add(new TextField(FIELD_TAGS, String.join(" ", article.getTagList()), Field.Store.NO));
+        long createTime = article.getCreateTime() != null
+                ? article.getCreateTime().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0L;
+        document.add(new NumericDocValuesField(FIELD_CREATE_TIME, createTime));
+        return document;
+    }
+
+    private void commit() throws IOException {
+        commitLock.lock();
+        try {
+            Map<String, String> commitData = new HashMap<>();
+            commitData.put(COMMIT_SCHEMA_VERSION, schemaVersion);
+            if (lastUpdateTime != null) {
+                commitData.put(COMMIT_LAST_UPDATE, lastUpdateTime.toString());
+            }
+            indexWriter.setLiveCommitData(commitData.entrySet());
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * 一页命中的文章ID及命中总数
+     */
+    public record SearchHits(List<Long> ids, long total) {
+    }
+}
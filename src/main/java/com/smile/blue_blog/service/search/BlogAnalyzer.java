@@ -0,0 +1,39 @@
+package com.smile.blue_blog.service.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+
+/**
+ * 文章索引与查询使用的分析器：中日韩二元切分 + 用户词典 + 全角转半角 + 小写 + ASCII 折叠。
+ * 索引用的实例额外输出单字词条，查询用的实例不输出
+ */
+public class BlogAnalyzer extends Analyzer {
+
+    private final UserDictionary dictionary;
+    private final boolean forIndexing;
+
+    public BlogAnalyzer(UserDictionary dictionary) {
+        this(dictionary, false);
+    }
+
+    public BlogAnalyzer(UserDictionary dictionary, boolean forIndexing) {
+        this.dictionary = dictionary;
+        this.forIndexing = forIndexing;
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        CjkBigramTokenizer tokenizer = new CjkBigramTokenizer(dictionary, forIndexing);
+        return new TokenStreamComponents(tokenizer, normalize(fieldName, tokenizer));
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        TokenStream result = new CJKWidthFilter(in);
+        result = new LowerCaseFilter(result);
+        return new ASCIIFoldingFilter(result);
+    }
+}
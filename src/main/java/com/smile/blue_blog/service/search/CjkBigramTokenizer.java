@@ -0,0 +1,200 @@
+package com.smile.blue_blog.service.search;
+
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.analysis.tokenattributes.TypeAttribute;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 中英混排分词器
+ *
+ * 连续的中日韩字符按二元切分（单字时输出单字），命中用户词典的词在同一位置额外输出；
+ * 索引时每个字还会作为单字输出（与以它开头的二元词同位置），单字查询也能命中；
+ * 查询时不输出单字，多字查询仍按二元词精确匹配。
+ * 字母数字按词输出，并保留 c++、c# 这类紧跟的 + / # 后缀。
+ */
+public final class CjkBigramTokenizer extends Tokenizer {
+
+    public static final String TYPE_WORD = "<WORD>";
+    public static final String TYPE_BIGRAM = "<BIGRAM>";
+    public static final String TYPE_SINGLE = "<SINGLE>";
+    public static final String TYPE_DICTIONARY = "<DICTIONARY>";
+
+    private static final int MAX_SYMBOL_SUFFIX = 2;
+
+    private final CharTermAttribute termAtt = addAttribute(CharTermAttribute.class);
+    private final OffsetAttribute offsetAtt = addAttribute(OffsetAttribute.class);
+    private final PositionIncrementAttribute posIncAtt = addAttribute(PositionIncrementAttribute.class);
+    private final TypeAttribute typeAtt = addAttribute(TypeAttribute.class);
+
+    private final UserDictionary dictionary;
+    private final StringBuilder text = new StringBuilder();
+    private final char[] readBuffer = new char[4096];
+    /** 排队输出的同位置词条：{start, end, positionIncrement, 是否单字} */
+    private final Deque<int[]> pendingTokens = new ArrayDeque<>();
+    private final boolean indexUnigrams;
+
+    private int cursor;
+    private int cjkPosition = -1;
+    private int cjkRunEnd;
+
+    public CjkBigramTokenizer(UserDictionary dictionary) {
+        this(dictionary, false);
+    }
+
+    /**
+     * @param indexUnigrams 为 true 时额外输出每个字的单字词条（用于建索引）
+     */
+    public CjkBigramTokenizer(UserDictionary dictionary, boolean indexUnigrams) {
+        this.dictionary = dictionary;
+        this.indexUnigrams = indexUnigrams;
+    }
+
+    @Override
+    public boolean incrementToken() throws IOException {
+        clearAttributes();
+
+        if (!pendingTokens.isEmpty()) {
+            int[] token = pendingTokens.poll();
+            emit(token[0], token[1], token[3] == 1 ? TYPE_SINGLE : TYPE_DICTIONARY, token[2]);
+            return true;
+        }
+
+        if (cjkPosition >= 0) {
+            return emitCjk();
+        }
+
+        int length = text.length();
+        while (cursor < length) {
+            int codePoint = Character.codePointAt(text, cursor);
+            if (isCjk(codePoint)) {
+                cjkPosition = cursor;
+                cjkRunEnd = cursor;
+                while (cjkRunEnd < length && isCjk(Character.codePointAt(text, cjkRunEnd))) {
+                    cjkRunEnd += Character.charCount(Character.codePointAt(text, cjkRunEnd));
+                }
+                cursor = cjkRunEnd;
+                return emitCjk();
+            }
+            if (Character.isLetterOrDigit(codePoint)) {
+                int start = cursor;
+                while (cursor < length && isWordPart(Character.codePointAt(text, cursor))) {
+                    cursor += Character.charCount(Character.codePointAt(text, cursor));
+                }
+                cursor = absorbSymbolSuffix(cursor);
+                emit(start, cursor, TYPE_WORD, 1);
+                return true;
+            }
+            cursor += Character.charCount(codePoint);
+        }
+        return false;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        super.reset();
+        text.setLength(0);
+        int read;
+        while ((read = input.read(readBuffer)) != -1) {
+            text.append(readBuffer, 0, read);
+        }
+        cursor = 0;
+        cjkPosition = -1;
+        pendingTokens.clear();
+    }
+
+    @Override
+    public void end() throws IOException {
+        super.end();
+        int finalOffset = correctOffset(text.length());
+        offsetAtt.setOffset(finalOffset, finalOffset);
+    }
+
+    /**
+     * 输出当前中日韩字符串中的下一个二元词（或单字），并排队同位置的单字和词典词；
+     * 末字的单字也叠在最后一个二元词的位置上，索引与查询的位置保持一致，短语查询不受影响
+     */
+    private boolean emitCjk() {
+        int start = cjkPosition;
+        int second = start + Character.charCount(Character.codePointAt(text, start));
+
+        if (second >= cjkRunEnd) {
+            // 整段只有一个字
+            cjkPosition = -1;
+            emit(start, second, TYPE_SINGLE, 1);
+            return true;
+        }
+
+        int end = second + Character.charCount(Character.codePointAt(text, second));
+        emit(start, end, TYPE_BIGRAM, 1);
+        if (indexUnigrams) {
+            pendingTokens.add(new int[]{start, second, 0, 1});
+        }
+        queueDictionaryWords(start);
+
+        if (end >= cjkRunEnd) {
+            cjkPosition = -1;
+            if (indexUnigrams) {
+                pendingTokens.add(new int[]{second, end, 0, 1});
+            }
+        } else {
+            cjkPosition = second;
+        }
+        return true;
+    }
+
+    private void queueDictionaryWords(int start) {
+        if (dictionary.isEmpty()) {
+            return;
+        }
+        int maxEnd = Math.min(cjkRunEnd, start + dictionary.getMaxWordLength());
+        int end = start;
+        int codePoints = 0;
+        while (end < maxEnd) {
+            end += Character.charCount(Character.codePointAt(text, end));
+            codePoints++;
+            if (codePoints >= UserDictionary.MIN_WORD_LENGTH && end <= maxEnd && dictionary.contains(text, start, end)) {
+                pendingTokens.add(new int[]{start, end, 0, 0});
+            }
+        }
+    }
+
+    private int absorbSymbolSuffix(int position) {
+        int end = position;
+        while (end < text.length() && end - position < MAX_SYMBOL_SUFFIX && isSymbolSuffix(text.charAt(end))) {
+            end++;
+        }
+        if (end < text.length() && isWordPart(Character.codePointAt(text, end))) {
+            return position;
+        }
+        return end;
+    }
+
+    private static boolean isSymbolSuffix(char c) {
+        return c == '+' || c == '#' || c == '\uFF0B' || c == '\uFF03';
+    }
+
+    private void emit(int start, int end, String type, int positionIncrement) {
+        termAtt.setEmpty().append(text, start, end);
+        offsetAtt.setOffset(correctOffset(start), correctOffset(end));
+        posIncAtt.setPositionIncrement(positionIncrement);
+        typeAtt.setType(type);
+    }
+
+    private static boolean isWordPart(int codePoint) {
+        return Character.isLetterOrDigit(codePoint) && !isCjk(codePoint);
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,20 @@
+package com.smile.blue_blog.service.search;
+
+/**
+ * 搜索结果排序方式
+ */
+public enum SearchSort {
+
+    /** 按 BM25 相关度 */
+    RELEVANCE,
+
+    /** 按创建时间倒序（默认，与原有行为一致） */
+    CREATE_TIME;
+
+    public static SearchSort from(String value) {
+        if (value != null && "relevance".equalsIgnoreCase(value.trim())) {
+            return RELEVANCE;
+        }
+        return CREATE_TIME;
+    }
+}
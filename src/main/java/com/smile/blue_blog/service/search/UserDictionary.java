@@ -0,0 +1,71 @@
+package com.smile.blue_blog.service.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 分词用户词典：每行一个专业术语，# 开头为注释
+ *
+ * 只对中日韩字符组成的词生效，命中的词会在二元切分之外额外作为完整词条索引
+ */
+@Component
+public class UserDictionary {
+
+    /** 二元切分已覆盖两个字的词，词典只收录三个字及以上的词 */
+    public static final int MIN_WORD_LENGTH = 3;
+
+    private final Set<String> words;
+    private final int maxWordLength;
+
+    public UserDictionary(@Value("${blog.search.user-dictionary:classpath:search/user-dict.txt}") Resource resource)
+            throws IOException {
+        Set<String> loaded = new HashSet<>();
+        if (resource.exists()) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String word = line.trim().toLowerCase(Locale.ROOT);
+                    if (!word.isEmpty() && !word.startsWith("#")
+                            && word.codePointCount(0, word.length()) >= MIN_WORD_LENGTH) {
+                        loaded.add(word);
+                    }
+                }
+            }
+        } else {
+            System.out.println("未找到分词用户词典: " + resource.getDescription());
+        }
+        this.words = Collections.unmodifiableSet(loaded);
+        this.maxWordLength = loaded.stream().mapToInt(String::length).max().orElse(0);
+        System.out.println("分词用户词典加载完成，词条数: " + words.size());
+    }
+
+    public boolean contains(CharSequence text, int start, int end) {
+        return words.contains(text.subSequence(start, end).toString());
+    }
+
+    public int getMaxWordLength() {
+        return maxWordLength;
+    }
+
+    public boolean isEmpty() {
+        return words.isEmpty();
+    }
+
+    /**
+     * 词典内容指纹，词典变化后需要重建索引
+     */
+    public String fingerprint() {
+        return Integer.toHexString(words.stream().sorted().toList().hashCode());
+    }
+}
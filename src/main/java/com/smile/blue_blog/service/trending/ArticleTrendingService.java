@@ -0,0 +1,83 @@
+package com.smile.blue_blog.service.trending;
+
+import com.smile.blue_blog.dto.ArticleSummaryView;
+import com.smile.blue_blog.entity.Article;
+import com.smile.blue_blog.event.ArticleChangedEvent;
+import com.smile.blue_blog.repository.ArticleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 热榜：按时间窗口统计浏览并按衰减得分实时排名，读取完全走内存
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleTrendingService {
+
+    public static final int MAX_LIMIT = 50;
+
+    private final ArticleRepository articleRepository;
+
+    private final Map<TrendingWindow, WindowRanking> rankings = createRankings();
+    private final Map<Long, ArticleSummaryView> summaries = new ConcurrentHashMap<>();
+
+    private static Map<TrendingWindow, WindowRanking> createRankings() {
+        long now = System.currentTimeMillis();
+        Map<TrendingWindow, WindowRanking> rankings = new EnumMap<>(TrendingWindow.class);
+        for (TrendingWindow window : TrendingWindow.values()) {
+            rankings.put(window, new WindowRanking(window, now));
+        }
+        return rankings;
+    }
+
+    /**
+     * 记录一次浏览（文章详情接口调用）
+     */
+    public void recordView(Long articleId) {
+        long now = System.currentTimeMillis();
+        rankings.values().forEach(ranking -> ranking.record(articleId, now));
+    }
+
+    /**
+     * 获取热榜文章，摘要只在首次上榜或文章变更后查询一次数据库
+     */
+    public List<ArticleSummaryView> getTrending(TrendingWindow window, int limit) {
+        List<Long> ids = rankings.get(window).top(Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+        List<Long> missing = ids.stream().filter(id -> !summaries.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            articleRepository.findSummariesByIdIn(missing).stream()
+                    .filter(summary -> Objects.equals(summary.status(), Article.STATUS_PUBLISHED))
+                    .forEach(summary -> summaries.put(summary.id(), summary));
+        }
+
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * 每分钟清理滑出窗口的桶并重算得分
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        rankings.values().forEach(ranking -> ranking.sweep(now));
+        // 摘要中的计数随之每分钟刷新一次，也顺带清掉已下榜的文章
+        summaries.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        summaries.remove(event.articleId());
+        if (event.after() == null || !event.after().isPublished()) {
+            rankings.values().forEach(ranking -> ranking.remove(event.articleId()));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.smile.blue_blog.service.trending;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热榜统计窗口：桶宽 × 桶数 = 窗口长度，半衰期控制新近浏览的权重
+ */
+public enum TrendingWindow {
+
+    /** 最近24小时，5分钟一个桶 */
+    DAY("24h", TimeUnit.MINUTES.toMillis(5), 288, TimeUnit.HOURS.toMillis(6)),
+
+    /** 最近7天，1小时一个桶 */
+    WEEK("7d", TimeUnit.HOURS.toMillis(1), 168, TimeUnit.DAYS.toMillis(1));
+
+    private final String value;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final long halfLifeMillis;
+
+    TrendingWindow(String value, long bucketMillis, int bucketCount, long halfLifeMillis) {
+        this.value = value;
+        this.bucketMillis = bucketMillis;
+        this.bucketCount = bucketCount;
+        this.halfLifeMillis = halfLifeMillis;
+    }
+
+    public String value() {
+        return value;
+    }
+
+    public long bucketMillis() {
+        return bucketMillis;
+    }
+
+    public int bucketCount() {
+        return bucketCount;
+    }
+
+    public long halfLifeMillis() {
+        return halfLifeMillis;
+    }
+
+    public static TrendingWindow from(String value) {
+        if (value == null || value.isBlank()) {
+            return DAY;
+        }
+        for (TrendingWindow window : values()) {
+            if (window.value.equalsIgnoreCase(value.trim())) {
+                return window;
+            }
+        }
+        throw new RuntimeException("不支持的统计窗口: " + value);
+    }
+}
@@ -0,0 +1,118 @@
+package com.smile.blue_blog.service.trending;
+
+import java.util.*;
+
+/**
+ * 单个统计窗口的热度排名。
+ * 每篇文章一个环形桶数组记录窗口内的浏览数；得分采用前向衰减
+ * score = Σ count × e^(λ(t_bucket - landmark))，所有文章按同一比例衰减，
+ * 因此新浏览只需把一个增量加到得分上，排名用 TreeSet 增量维护
+ */
+class WindowRanking {
+
+    private static final Comparator<Ranked> HIGHEST_FIRST = Comparator
+            .comparingDouble(Ranked::score).reversed()
+            .thenComparing(Ranked::id, Comparator.reverseOrder());
+
+    private final TrendingWindow window;
+    private final double lambda;
+
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final NavigableSet<Ranked> ranking = new TreeSet<>(HIGHEST_FIRST);
+    private long landmark;
+
+    WindowRanking(TrendingWindow window, long now) {
+        this.window = window;
+        this.lambda = Math.log(2) / window.halfLifeMillis();
+        this.landmark = now;
+    }
+
+    private record Ranked(double score, long id) {
+    }
+
+    private static final class Counter {
+        final long[] counts;
+        final long[] buckets;
+        double score;
+
+        Counter(int size) {
+            counts = new long[size];
+            buckets = new long[size];
+        }
+    }
+
+    synchronized void record(long articleId, long now) {
+        long bucket = now / window.bucketMillis();
+        int slot = (int) (bucket % window.bucketCount());
+        Counter counter = counters.computeIfAbsent(articleId, id -> new Counter(window.bucketCount()));
+
+        double score = counter.score;
+        if (counter.buckets[slot] != bucket) {
+            // 槽位上是已滑出窗口的旧桶，先扣掉它的贡献
+            score -= counter.counts[slot] * weight(counter.buckets[slot]);
+            counter.counts[slot] = 0;
+            counter.buckets[slot] = bucket;
+        }
+        counter.counts[slot]++;
+        rank(articleId, counter, score + weight(bucket));
+    }
+
+    synchronized List<Long> top(int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        for (Ranked ranked : ranking) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(ranked.id());
+        }
+        return ids;
+    }
+
+    synchronized void remove(long articleId) {
+        Counter counter = counters.remove(articleId);
+        if (counter != null) {
+            ranking.remove(new Ranked(counter.score, articleId));
+        }
+    }
+
+    /**
+     * 定期执行：丢弃滑出窗口的桶，把 landmark 移到当前时间并按桶重新计算得分，
+     * 既清理不再有浏览的文章，也避免指数项无限增长和浮点误差累积
+     */
+    synchronized void sweep(long now) {
+        long oldestBucket = now / window.bucketMillis() - window.bucketCount() + 1;
+        landmark = now;
+        ranking.clear();
+
+        Iterator<Map.Entry<Long, Counter>> it = counters.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Counter> entry = it.next();
+            Counter counter = entry.getValue();
+            double score = 0;
+            long views = 0;
+            for (int i = 0; i < counter.counts.length; i++) {
+                if (counter.buckets[i] < oldestBucket) {
+                    counter.counts[i] = 0;
+                }
+                views += counter.counts[i];
+                score += counter.counts[i] * weight(counter.buckets[i]);
+            }
+            if (views == 0) {
+                it.remove();
+            } else {
+                counter.score = score;
+                ranking.add(new Ranked(score, entry.getKey()));
+            }
+        }
+    }
+
+    private void rank(long articleId, Counter counter, double score) {
+        ranking.remove(new Ranked(counter.score, articleId));
+        counter.score = score;
+        ranking.add(new Ranked(score, articleId));
+    }
+
+    private double weight(long bucket) {
+        return Math.exp(lambda * (bucket * window.bucketMillis() - landmark));
+    }
+}
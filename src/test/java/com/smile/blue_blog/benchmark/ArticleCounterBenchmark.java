@@ -0,0 +1,83 @@
+package com.smile.blue_blog.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热点文章计数写入吞吐：直接更新 articles 行 vs 随机写入计数分片。
+ * 需要一个已建好表结构的测试库（会修改指定文章的计数）：
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *   -Dbench.jdbc.url=jdbc:mysql://localhost:3306/blue_blog_bench -Dbench.jdbc.user=root -Dbench.jdbc.password=... \
+ *   -Dbench.article-id=1 com.smile.blue_blog.benchmark.ArticleCounterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(32)
+public class ArticleCounterBenchmark {
+
+	private static final int SHARDS = 16;
+
+	private HikariDataSource dataSource;
+	private long articleId;
+
+	@Setup
+	public void setUp() {
+		HikariConfig config = new HikariConfig();
+		config.setJdbcUrl(System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/blue_blog_bench"));
+		config.setUsername(System.getProperty("bench.jdbc.user", "root"));
+		config.setPassword(System.getProperty("bench.jdbc.password", ""));
+		config.setMaximumPoolSize(64);
+		dataSource = new HikariDataSource(config);
+		articleId = Long.getLong("bench.article-id", 1L);
+	}
+
+	@TearDown
+	public void tearDown() {
+		dataSource.close();
+	}
+
+	@Benchmark
+	public int singleRowUpdate() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(
+					 "UPDATE articles SET view_count = view_count + 1 WHERE id = ?")) {
+			statement.setLong(1, articleId);
+			return statement.executeUpdate();
+		}
+	}
+
+	@Benchmark
+	public int shardedUpsert() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(
+					 "INSERT INTO article_counter_shards (article_id, shard, views, likes, comments) VALUES (?, ?, 1, 0, 0) " +
+							 "ON DUPLICATE KEY UPDATE views = views + 1")) {
+			statement.setLong(1, articleId);
+			statement.setInt(2, ThreadLocalRandom.current().nextInt(SHARDS));
+			return statement.executeUpdate();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(ArticleCounterBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,102 @@
+package com.smile.blue_blog.benchmark;
+
+import com.smile.blue_blog.config.datasource.ConnectionLimitingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 平台线程与虚拟线程的开环负载模拟（不需要数据库）：按固定速率提交请求，
+ * 每个请求经 ConnectionLimitingDataSource 从 20 个连接的模拟连接池取连接，查询 2ms，再阻塞 30ms（模拟其他 I/O）。
+ * 平台线程模式使用 200 线程的线程池（Tomcat 默认值），丢弃前 3 秒预热后统计吞吐和延迟。需要 JDK 21：
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *   com.smile.blue_blog.benchmark.VirtualThreadLoadSimulation virtual 8000
+ * </pre>
+ * 参数：模式（platform / virtual）、每秒请求数、持续秒数（默认 15）
+ */
+public class VirtualThreadLoadSimulation {
+
+	private static final int POOL_SIZE = 20;
+	private static final int PLATFORM_THREADS = 200;
+	private static final long QUERY_MS = 2;
+	private static final long OTHER_IO_MS = 30;
+	private static final int WARMUP_SECONDS = 3;
+
+	public static void main(String[] args) throws Exception {
+		String mode = args.length > 0 ? args[0] : "virtual";
+		int rate = args.length > 1 ? Integer.parseInt(args[1]) : 3000;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 15;
+
+		DataSource dataSource = new ConnectionLimitingDataSource(simulatedPool(), "sim", POOL_SIZE, 30_000);
+		ExecutorService executor = mode.equals("virtual")
+				// 反射调用，测试代码按 Java 17 编译
+				? (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+				: new ThreadPoolExecutor(PLATFORM_THREADS, PLATFORM_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+
+		int total = rate * seconds;
+		long[] latencies = new long[total];
+		CountDownLatch done = new CountDownLatch(total);
+		long interval = 1_000_000_000L / rate;
+		long start = System.nanoTime();
+		for (int i = 0; i < total; i++) {
+			long due = start + i * interval;
+			while (System.nanoTime() < due) {
+				Thread.onSpinWait();
+			}
+			int index = i;
+			executor.execute(() -> {
+				try {
+					try (Connection connection = dataSource.getConnection()) {
+						Thread.sleep(QUERY_MS);
+					}
+					Thread.sleep(OTHER_IO_MS);
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+				latencies[index] = System.nanoTime() - due;
+				done.countDown();
+			});
+		}
+		done.await();
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		executor.shutdown();
+
+		long[] steady = Arrays.copyOfRange(latencies, Math.min(rate * WARMUP_SECONDS, total - 1), total);
+		Arrays.sort(steady);
+		System.out.printf("%-8s offered=%5d/s  throughput=%7.0f/s  p50=%7.1fms  p99=%8.1fms%n", mode, rate,
+				total / elapsed, steady[steady.length / 2] / 1e6, steady[(int) (steady.length * 0.99)] / 1e6);
+	}
+
+	/**
+	 * 固定大小的模拟连接池：连接用完时 getConnection 阻塞，close 时归还
+	 */
+	private static DataSource simulatedPool() {
+		Semaphore connections = new Semaphore(POOL_SIZE);
+		ClassLoader loader = VirtualThreadLoadSimulation.class.getClassLoader();
+		return (DataSource) Proxy.newProxyInstance(loader, new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+			if (!method.getName().equals("getConnection")) {
+				return null;
+			}
+			connections.acquire();
+			AtomicBoolean closed = new AtomicBoolean();
+			return Proxy.newProxyInstance(loader, new Class<?>[]{Connection.class}, (connection, call, callArgs) -> {
+				if (call.getName().equals("close") && closed.compareAndSet(false, true)) {
+					connections.release();
+				}
+				return call.getReturnType() == boolean.class ? false : null;
+			});
+		});
+	}
+}
@@ -0,0 +1,109 @@
+package com.smile.blue_blog.service.cache;
+
+import com.smile.blue_blog.entity.Article;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArticleDetailCacheTest {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private final ArticleDetailCache cache = new ArticleDetailCache(registry, 1 << 20);
+
+	@Test
+	void concurrentMissesLoadOnceAndLaterReadsHitCache() throws Exception {
+		Article article = article(1L);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		int callers = 8;
+
+		List<CompletableFuture<Optional<Article>>> results = new ArrayList<>();
+		results.add(CompletableFuture.supplyAsync(() -> cache.get(1L, id -> {
+			loads.incrementAndGet();
+			entered.countDown();
+			await(release);
+			return Optional.of(article);
+		})));
+		entered.await();
+		for (int i = 1; i < callers; i++) {
+			results.add(CompletableFuture.supplyAsync(() -> cache.get(1L, id -> {
+				loads.incrementAndGet();
+				return Optional.of(article);
+			})));
+		}
+		awaitCoalesced(callers - 1);
+		release.countDown();
+
+		for (CompletableFuture<Optional<Article>> result : results) {
+			assertSame(article, result.get().orElseThrow());
+		}
+		assertSame(article, cache.get(1L, id -> Optional.of(article(1L))).orElseThrow());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void invalidationDuringLoadDropsLoadedValue() {
+		Article stale = article(1L);
+		Optional<Article> loaded = cache.get(1L, id -> {
+			cache.invalidate(id);
+			return Optional.of(stale);
+		});
+		assertSame(stale, loaded.orElseThrow());
+
+		Article fresh = article(1L);
+		assertSame(fresh, cache.get(1L, id -> Optional.of(fresh)).orElseThrow());
+	}
+
+	@Test
+	void missingArticleIsNotCached() {
+		AtomicInteger loads = new AtomicInteger();
+		assertTrue(cache.get(1L, id -> {
+			loads.incrementAndGet();
+			return Optional.empty();
+		}).isEmpty());
+		assertTrue(cache.get(1L, id -> {
+			loads.incrementAndGet();
+			return Optional.empty();
+		}).isEmpty());
+		assertEquals(2, loads.get());
+	}
+
+	/**
+	 * 等待后续调用方都已合并到进行中的加载上
+	 */
+	private void awaitCoalesced(int expected) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (registry.get("blog.single_flight.coalesced").tag("name", "article_detail").counter().count() < expected) {
+			assertTrue(System.currentTimeMillis() < deadline, "等待合并超时");
+			Thread.sleep(1);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static Article article(Long id) {
+		Article article = new Article();
+		article.setId(id);
+		article.setTitle("title");
+		article.setContent("content");
+		return article;
+	}
+}
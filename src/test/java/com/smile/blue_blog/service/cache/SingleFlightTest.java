@@ -0,0 +1,147 @@
+package com.smile.blue_blog.service.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SingleFlightTest {
+
+	private static final int CALLERS = 8;
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+	private final SingleFlight<String, Object> flight = new SingleFlight<>(registry, "test");
+	private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * 第一个调用方进入 loader 后阻塞在 release 上，其余调用方全部排队等待后才放行
+	 */
+	private List<Future<Object>> callGated(String key, CountDownLatch release, AtomicInteger invocations,
+										   RuntimeException failure) throws InterruptedException {
+		CountDownLatch leaderStarted = new CountDownLatch(1);
+		List<Future<Object>> results = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			results.add(executor.submit(() -> flight.execute(key, () -> {
+				invocations.incrementAndGet();
+				leaderStarted.countDown();
+				await(release);
+				if (failure != null) {
+					throw failure;
+				}
+				return new Object();
+			})));
+		}
+		assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+		awaitCoalesced(CALLERS - 1);
+		return results;
+	}
+
+	private void awaitCoalesced(int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (registry.get("blog.single_flight.coalesced").counter().count() < expected) {
+			if (System.nanoTime() > deadline) {
+				fail("调用方未全部合并到进行中的加载");
+			}
+			Thread.sleep(1);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS)) {
+				throw new IllegalStateException("等待放行超时");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private double inFlight() {
+		return registry.get("blog.single_flight.in_flight").gauge().value();
+	}
+
+	@Test
+	void concurrentCallersShareOneLoad() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		List<Future<Object>> results = callGated("k", release, invocations, null);
+		assertEquals(1.0, inFlight());
+
+		release.countDown();
+		Object first = results.get(0).get(5, TimeUnit.SECONDS);
+		for (Future<Object> result : results) {
+			assertSame(first, result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, invocations.get());
+		assertEquals(CALLERS, registry.get("blog.single_flight.calls").counter().count());
+		assertEquals(0.0, inFlight());
+	}
+
+	@Test
+	void loaderExceptionIsRethrownToEveryCaller() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		IllegalStateException failure = new IllegalStateException("加载失败");
+		List<Future<Object>> results = callGated("k", release, invocations, failure);
+
+		release.countDown();
+		for (Future<Object> result : results) {
+			ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+			assertSame(failure, e.getCause());
+		}
+		assertEquals(1, invocations.get());
+		assertEquals(0.0, inFlight());
+	}
+
+	@Test
+	void keyIsReleasedAfterCompletion() {
+		AtomicInteger invocations = new AtomicInteger();
+		flight.execute("k", invocations::incrementAndGet);
+		flight.execute("k", invocations::incrementAndGet);
+		assertEquals(2, invocations.get());
+
+		assertThrows(IllegalStateException.class, () -> flight.execute("k", () -> {
+			throw new IllegalStateException();
+		}));
+		assertEquals(3, flight.execute("k", invocations::incrementAndGet));
+		assertEquals(0.0, inFlight());
+	}
+
+	@Test
+	void differentKeysLoadIndependently() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		List<Future<Object>> results = callGated("a", release, invocations, null);
+
+		// 另一个 key 不受进行中的加载影响
+		assertEquals("b", flight.execute("b", () -> "b"));
+
+		release.countDown();
+		for (Future<Object> result : results) {
+			result.get(5, TimeUnit.SECONDS);
+		}
+		assertEquals(1, invocations.get());
+	}
+}
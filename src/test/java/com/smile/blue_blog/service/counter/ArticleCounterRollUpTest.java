@@ -0,0 +1,83 @@
+package com.smile.blue_blog.service.counter;
+
+import com.smile.blue_blog.entity.Article;
+import com.smile.blue_blog.entity.User;
+import com.smile.blue_blog.repository.ArticleRepository;
+import com.smile.blue_blog.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 汇总任务在文章编辑的读取与保存之间提交时，保存不能用读到的旧计数覆盖汇总结果
+ */
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:counters;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ArticleCounterService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ArticleCounterRollUpTest {
+
+	@Autowired
+	private ArticleCounterService counterService;
+
+	@Autowired
+	private ArticleRepository articleRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void rollUpBetweenLoadAndSaveIsNotOverwritten() {
+		Long id = createArticle();
+		counterService.add(new ArticleCounterService.Delta(id, 5, 2, 1));
+
+		transactionTemplate.executeWithoutResult(status -> {
+			Article article = articleRepository.findById(id).orElseThrow();
+			article.setTitle("edited");
+
+			// 汇总在另一个事务中提交，编辑事务此时仍持有 view_count = 0 的实体
+			assertEquals(1, CompletableFuture.supplyAsync(counterService::rollUp).join());
+
+			articleRepository.save(article);
+		});
+
+		assertEquals("edited", jdbcTemplate.queryForObject("SELECT title FROM articles WHERE id = ?", String.class, id));
+		assertEquals(5, jdbcTemplate.queryForObject("SELECT view_count FROM articles WHERE id = ?", Integer.class, id));
+		assertEquals(2, jdbcTemplate.queryForObject("SELECT like_count FROM articles WHERE id = ?", Integer.class, id));
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT comment_count FROM articles WHERE id = ?", Integer.class, id));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM article_counter_shards", Integer.class));
+	}
+
+	private Long createArticle() {
+		User author = new User();
+		author.setUsername("author");
+		author.setPassword("secret");
+		author = userRepository.save(author);
+
+		Article article = new Article();
+		article.setTitle("title");
+		article.setContent("content");
+		article.setCategory("tech");
+		article.setAuthor(author);
+		return articleRepository.save(article).getId();
+	}
+}
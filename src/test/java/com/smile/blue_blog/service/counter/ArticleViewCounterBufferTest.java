@@ -0,0 +1,91 @@
+package com.smile.blue_blog.service.counter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArticleViewCounterBufferTest {
+
+	private static final int THREADS = 8;
+	private static final int VIEWS_PER_THREAD = 200_000;
+	private static final int ARTICLES = 64;
+
+	/**
+	 * 只记录写入的增量，不访问数据库
+	 */
+	private static class RecordingCounterService extends ArticleCounterService {
+
+		final Map<Long, LongAdder> written = new ConcurrentHashMap<>();
+
+		RecordingCounterService() {
+			super(null, null, null, 1, 1000);
+		}
+
+		@Override
+		public void addAll(List<Delta> deltas) {
+			deltas.forEach(delta -> written.computeIfAbsent(delta.articleId(), id -> new LongAdder()).add(delta.views()));
+		}
+	}
+
+	@Test
+	void concurrentIncrementsAndFlushesLoseNoViews() throws Exception {
+		RecordingCounterService counterService = new RecordingCounterService();
+		ArticleViewCounterBuffer buffer = new ArticleViewCounterBuffer(counterService, new SimpleMeterRegistry());
+		buffer.registerMetrics();
+
+		long[][] expected = new long[THREADS][ARTICLES + 1];
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(THREADS);
+		for (int t = 0; t < THREADS; t++) {
+			long[] counts = expected[t];
+			new Thread(() -> {
+				try {
+					start.await();
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < VIEWS_PER_THREAD; i++) {
+						// 一半浏览落在热点文章上，其余分散到冷门文章，冷门文章的计数器会频繁退役
+						long articleId = random.nextBoolean() ? 1 : 2 + random.nextInt(ARTICLES - 1);
+						buffer.increment(articleId);
+						counts[(int) articleId]++;
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					done.countDown();
+				}
+			}).start();
+		}
+
+		AtomicBoolean writing = new AtomicBoolean(true);
+		Thread flusher = new Thread(() -> {
+			while (writing.get()) {
+				buffer.flush();
+			}
+		});
+		flusher.start();
+		start.countDown();
+		done.await();
+		writing.set(false);
+		flusher.join();
+		buffer.flush();
+
+		for (int articleId = 1; articleId <= ARTICLES; articleId++) {
+			long views = 0;
+			for (long[] counts : expected) {
+				views += counts[articleId];
+			}
+			LongAdder written = counterService.written.get((long) articleId);
+			assertEquals(views, written == null ? 0 : written.sum(), "articleId=" + articleId);
+			assertEquals(0, buffer.pendingFor((long) articleId));
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.smile.blue_blog.service.render;
+
+import com.smile.blue_blog.dto.RenderedContent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarkdownRendererTest {
+
+	private final MarkdownRenderer renderer = new MarkdownRenderer(new SimpleMeterRegistry(), 1 << 20);
+
+	@Test
+	void escapesRawHtml() {
+		String html = renderer.render("<script>alert(1)</script>\n\ntext <img src=x onerror=alert(1)> more").html();
+
+		assertFalse(html.contains("<script"));
+		assertFalse(html.contains("<img"));
+		assertTrue(html.contains("&lt;script&gt;alert(1)&lt;/script&gt;"));
+		assertTrue(html.contains("&lt;img src=x onerror=alert(1)&gt;"));
+	}
+
+	@Test
+	void stripsJavascriptLinks() {
+		String html = renderer.render("[click](javascript:alert(1)) and [site](https://example.com)").html();
+
+		assertFalse(html.toLowerCase().contains("javascript:"));
+		assertTrue(html.contains("href=\"https://example.com\""));
+		assertTrue(html.contains("rel=\"nofollow noopener\""));
+	}
+
+	@Test
+	void headingIdsMatchTocAnchors() {
+		RenderedContent rendered = renderer.render("# Intro\n\n## Setup\n\n## Setup\n\n### `code` 标题\n");
+
+		List<String> ids = all(Pattern.compile("<h\\d id=\"([^\"]+)\""), rendered.html());
+		List<String> anchors = all(Pattern.compile("href=\"#([^\"]+)\""), rendered.toc());
+		assertEquals(List.of("intro", "setup", "setup-1", "code-标题"), ids);
+		assertEquals(ids, anchors);
+		assertTrue(rendered.toc().contains("<li class=\"toc-h2\"><a href=\"#setup-1\">Setup</a></li>"));
+	}
+
+	@Test
+	void fencedCodeCarriesLanguage() {
+		String html = renderer.render("```java title\nint x = 1;\n```\n\n```\nplain\n```").html();
+
+		assertTrue(html.contains("<pre class=\"code-block\" data-lang=\"java\"><code class=\"language-java\">"));
+		assertTrue(html.contains("<pre class=\"code-block\"><code>plain"));
+	}
+
+	@Test
+	void sameContentIsRenderedOnce() {
+		RenderedContent first = renderer.render("# Title");
+
+		assertSame(first, renderer.render("# Title"));
+		assertEquals(MarkdownRenderer.hash("# Title"), first.hash());
+		assertEquals("", renderer.render("no headings").toc());
+	}
+
+	private static List<String> all(Pattern pattern, String text) {
+		List<String> matches = new ArrayList<>();
+		Matcher matcher = pattern.matcher(text);
+		while (matcher.find()) {
+			matches.add(matcher.group(1));
+		}
+		return matches;
+	}
+}
@@ -0,0 +1,74 @@
+package com.smile.blue_blog.service.render;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MarkdownScannerTest {
+
+	@Test
+	void stripsHeadingMarkersAndInlineSyntax() {
+		MarkdownScanner.Stats stats = MarkdownScanner.scan("# 标题\n\n**加粗** 和 [链接](https://example.com) 以及 `code`");
+
+		assertEquals("标题加粗 和 链接 以及 code", stats.summary());
+		assertEquals(10, stats.wordCount());
+	}
+
+	@Test
+	void keepsNestedListTextAndIndentedListContent() {
+		String markdown = "- one\n  - two\n    1. three\n\n      still three";
+
+		assertEquals("one two three still three", MarkdownScanner.scan(markdown).summary());
+	}
+
+	@Test
+	void splitsTableCellsAndDropsDelimiterRow() {
+		String markdown = "| a | b |\n|---|:-:|\n| c | d |";
+
+		assertEquals("a b c d", MarkdownScanner.scan(markdown).summary());
+	}
+
+	@Test
+	void skipsFencedCodeBlocks() {
+		String markdown = "before\n```java\nint x = 1;\n```\n~~~\nhidden\n~~~\nafter";
+		MarkdownScanner.Stats stats = MarkdownScanner.scan(markdown);
+
+		assertEquals("before after", stats.summary());
+		assertEquals(2, stats.wordCount());
+	}
+
+	@Test
+	void skipsIndentedCodeBlocks() {
+		String markdown = "intro\n\n    int x = 1;\n\tint y = 2;\n\noutro";
+		MarkdownScanner.Stats stats = MarkdownScanner.scan(markdown);
+
+		assertEquals("intro outro", stats.summary());
+		assertEquals(2, stats.wordCount());
+	}
+
+	@Test
+	void indentedLineContinuesParagraph() {
+		assertEquals("first second", MarkdownScanner.scan("first\n    second").summary());
+	}
+
+	@Test
+	void indentedLineAfterHeadingIsCode() {
+		assertEquals("title", MarkdownScanner.scan("# title\n    code").summary());
+	}
+
+	@Test
+	void truncatesWithoutSplittingSurrogatePair() {
+		MarkdownScanner.Stats stats = MarkdownScanner.scan("ab😀cd", 3);
+
+		assertEquals("ab...", stats.summary());
+	}
+
+	@Test
+	void emptyInput() {
+		MarkdownScanner.Stats stats = MarkdownScanner.scan(null);
+
+		assertEquals("", stats.summary());
+		assertEquals(0, stats.wordCount());
+		assertEquals(0, stats.readingMinutes());
+	}
+}
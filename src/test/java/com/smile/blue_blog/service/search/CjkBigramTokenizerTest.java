@@ -0,0 +1,106 @@
+package com.smile.blue_blog.service.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.PositionIncrementAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CjkBigramTokenizerTest {
+
+	private static final String FIELD = "content";
+
+	private static UserDictionary dictionary(String... words) throws IOException {
+		byte[] content = String.join("\n", words).getBytes(StandardCharsets.UTF_8);
+		return new UserDictionary(new ByteArrayResource(content));
+	}
+
+	/**
+	 * 词条及其位置，格式为 "词条@位置"
+	 */
+	private static List<String> tokens(Analyzer analyzer, String text) throws IOException {
+		List<String> tokens = new ArrayList<>();
+		try (TokenStream stream = analyzer.tokenStream(FIELD, text)) {
+			CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+			PositionIncrementAttribute posInc = stream.addAttribute(PositionIncrementAttribute.class);
+			stream.reset();
+			int position = -1;
+			while (stream.incrementToken()) {
+				position += posInc.getPositionIncrement();
+				tokens.add(term + "@" + position);
+			}
+			stream.end();
+		}
+		return tokens;
+	}
+
+	@Test
+	void queryModeEmitsOnlyBigrams() throws IOException {
+		Analyzer analyzer = new BlogAnalyzer(dictionary());
+		assertEquals(List.of("分布@0", "布式@1", "式系@2", "系统@3"), tokens(analyzer, "分布式系统"));
+	}
+
+	@Test
+	void singleCharacterIsEmittedInBothModes() throws IOException {
+		assertEquals(List.of("锁@0"), tokens(new BlogAnalyzer(dictionary()), "锁"));
+		assertEquals(List.of("锁@0"), tokens(new BlogAnalyzer(dictionary(), true), "锁"));
+	}
+
+	@Test
+	void indexModeStacksUnigramsOnBigramPositions() throws IOException {
+		Analyzer analyzer = new BlogAnalyzer(dictionary(), true);
+		assertEquals(List.of("读写@0", "读@0", "写锁@1", "写@1", "锁@1", "java@2"), tokens(analyzer, "读写锁 Java"));
+	}
+
+	@Test
+	void dictionaryWordsShareThePositionOfTheirFirstBigram() throws IOException {
+		Analyzer analyzer = new BlogAnalyzer(dictionary("分布式"));
+		assertEquals(List.of("分布@0", "分布式@0", "布式@1"), tokens(analyzer, "分布式"));
+	}
+
+	@Test
+	void latinWordsKeepSymbolSuffixes() throws IOException {
+		Analyzer analyzer = new BlogAnalyzer(dictionary());
+		assertEquals(List.of("c++@0", "c#@1", "学习@2", "c2@3"), tokens(analyzer, "C++ c#学习 c2"));
+		assertEquals(List.of("a@0", "b@1"), tokens(analyzer, "a+b"));
+	}
+
+	@Test
+	void singleCharacterAndPhraseQueriesMatchIndexedText() throws IOException {
+		UserDictionary dictionary = dictionary();
+		try (Directory directory = new ByteBuffersDirectory()) {
+			try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig(new BlogAnalyzer(dictionary, true)))) {
+				Document document = new Document();
+				document.add(new TextField(FIELD, "聊聊数据库里的读写锁 Java 实现", Field.Store.NO));
+				writer.addDocument(document);
+			}
+			try (DirectoryReader reader = DirectoryReader.open(directory)) {
+				IndexSearcher searcher = new IndexSearcher(reader);
+				SimpleQueryParser parser = new SimpleQueryParser(new BlogAnalyzer(dictionary), FIELD);
+				assertEquals(1, searcher.count(parser.parse("锁")));
+				assertEquals(1, searcher.count(parser.parse("读写锁")));
+				assertEquals(1, searcher.count(parser.parse("\"读写锁 java\"")));
+				assertEquals(0, searcher.count(parser.parse("\"锁读写\"")));
+				assertEquals(0, searcher.count(parser.parse("猫")));
+			}
+		}
+	}
+}